@@ -0,0 +1,77 @@
+import bagel.Keys;
+
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+/** Benchmark measuring how many bytes are allocated on the heap while headless frames of
+ * the game are played, per frame and per entity moved in each frame
+ * Moving, colliding and updating entities should allocate nothing, so what remains (around
+ * 10 bytes per frame) comes from level objects being created as they come into view
+ */
+public class AllocationBenchmark {
+    private static final KeyState DRIVE = KeyState.of(Keys.UP);
+    private static final int WARMUP_FRAMES = 20000;
+    private static final int FRAMES = 100000;
+
+    /** Runs the benchmark and prints the mean bytes allocated per frame
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        GameConfig config = new GameConfig(IOUtils.readPropertiesFile("res/app.properties"));
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        // warm up so that the measured frames run compiled code
+        play(config, msgProps, WARMUP_FRAMES, threads, thread, new long[1]);
+
+        long[] entityFrames = new long[1];
+        long bytes = play(config, msgProps, FRAMES, threads, thread, entityFrames);
+
+        System.out.printf("%d frames, %d entity updates%n", FRAMES, entityFrames[0]);
+        System.out.printf("%.1f bytes/frame, %.2f bytes/entity/frame%n",
+                bytes / (double) FRAMES, bytes / (double) entityFrames[0]);
+    }
+
+
+    /** Plays frames of the game, starting a new shift whenever one ends
+     * @param entityFrames Incremented by the number of entities in the game each frame
+     * @return Bytes allocated by this thread while frames were played (excluding the
+     *         construction of new shifts)
+     */
+    private static long play(GameConfig config, Properties msgProps, int frames,
+                             com.sun.management.ThreadMXBean threads, long thread, long[] entityFrames) {
+        long bytes = 0;
+        Game game = new Game(config, msgProps, true);
+        for (int i = 0; i < frames; i++) {
+            entityFrames[0] += countEntities(game);
+
+            long before = threads.getThreadAllocatedBytes(thread);
+            int status = game.playGame(DRIVE);
+            long after = threads.getThreadAllocatedBytes(thread);
+            bytes += after - before;
+
+            if (status != Game.PLAY) {
+                game.release();
+                game = new Game(config, msgProps, true);
+            }
+        }
+        return bytes;
+    }
+
+
+    /** Counts the entities which are moved in a frame
+     */
+    private static int countEntities(Game game) {
+        int count = game.getPassengers().size() + game.getPowerups().size() + 2;
+        for (Car c: game.getCars()) {
+            count++;
+            if (c instanceof EnemyCar) {
+                count += ((EnemyCar) c).getFireballs().size();
+            }
+        }
+        return count;
+    }
+}
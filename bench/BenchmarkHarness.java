@@ -0,0 +1,89 @@
+import java.lang.management.ManagementFactory;
+
+/** Small benchmark harness which times an operation over several iterations after warming it
+ * up, reporting the mean time and heap allocation per operation
+ * (JMH cannot be used because it does not allow benchmarks that use classes in the default
+ * package, which is where all of the game's classes are)
+ */
+public class BenchmarkHarness {
+    private final int WARMUP_ITERATIONS;
+    private final int ITERATIONS;
+    private final long ITERATION_NANOS;
+
+    private final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long THREAD = Thread.currentThread().getId();
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    /** Constructs a BenchmarkHarness object
+     * @param warmupIterations Number of iterations run (and discarded) before measuring
+     * @param iterations Number of iterations measured
+     * @param iterationMillis Minimum length of each iteration in milliseconds
+     */
+    public BenchmarkHarness(int warmupIterations, int iterations, long iterationMillis) {
+        WARMUP_ITERATIONS = warmupIterations;
+        ITERATIONS = iterations;
+        ITERATION_NANOS = iterationMillis * NANOS_PER_MILLI;
+    }
+
+
+    /** Prints the column headings for the results
+     */
+    public void printHeader() {
+        System.out.printf("%-16s %8s %14s %10s %12s%n", "benchmark", "size", "ns/op", "error", "bytes/op");
+    }
+
+
+    /** Measures an operation and prints the result
+     * @param name Name of the benchmark
+     * @param size Size of the world the operation runs in
+     * @param op The operation to measure
+     */
+    public void run(String name, int size, Runnable op) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration(op);
+        }
+
+        double[] nanos = new double[ITERATIONS];
+        double bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(THREAD);
+            long[] result = iteration(op);
+            long allocated = THREADS.getThreadAllocatedBytes(THREAD) - allocatedBefore;
+
+            nanos[i] = result[0] / (double) result[1];
+            bytes += allocated / (double) result[1];
+        }
+
+        double mean = 0;
+        for (double n: nanos) {
+            mean += n;
+        }
+        mean /= ITERATIONS;
+
+        double variance = 0;
+        for (double n: nanos) {
+            variance += (n - mean) * (n - mean);
+        }
+        double error = ITERATIONS > 1 ? Math.sqrt(variance / (ITERATIONS - 1)) : 0;
+
+        System.out.printf("%-16s %8d %14.1f %10.1f %12.1f%n", name, size, mean, error, bytes / ITERATIONS);
+    }
+
+
+    /** Runs an operation repeatedly for at least the length of one iteration
+     * @return The time taken in nanoseconds and the number of operations run
+     */
+    private long[] iteration(Runnable op) {
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            op.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ITERATION_NANOS);
+        return new long[] {elapsed, ops};
+    }
+}
@@ -0,0 +1,76 @@
+import java.util.ArrayList;
+import java.util.Properties;
+
+/** Benchmark comparing the per-frame cost of checking every pair of entities for collisions
+ * with the cost of the grid-based check in Game, as the number of cars on the road grows
+ */
+public class CollisionBenchmark {
+    private static final int[] CAR_COUNTS = new int[] {25, 50, 100, 200, 400, 800, 1600, 3200};
+    private static final int WARMUP_FRAMES = 200;
+    private static final int FRAMES = 500;
+
+    // gap between cars in the same lane, wide enough that no cars collide
+    private static final int CAR_GAP = 100;
+
+    /** Runs the benchmark and prints the mean cost of a frame for each number of cars
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        GameConfig config = new GameConfig(IOUtils.readPropertiesFile("res/app.properties"));
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+
+        System.out.printf("%8s %16s %16s %10s%n", "cars", "pairwise ns/frm", "grid ns/frm", "speedup");
+        for (int count: CAR_COUNTS) {
+            Game game = new Game(config, msgProps, true);
+            ArrayList<Car> cars = game.getCars();
+            for (int i = 0; i < count; i++) {
+                int lanes = config.getLaneCount();
+                cars.add(new Car(config, null, config.ASSETS.ENEMY_CAR, 0, config.OTHER_CAR.RADIUS,
+                        config.OTHER_CAR.DAMAGE, config.getLane(i % lanes), -(i / lanes) * CAR_GAP,
+                        config.OTHER_CAR.HEALTH));
+            }
+
+            double pairwise = time(() -> checkAllPairs(game));
+            double grid = time(game::checkAllCollisions);
+            System.out.printf("%8d %16.0f %16.0f %9.1fx%n", count, pairwise, grid, pairwise / grid);
+        }
+    }
+
+
+    /** Finds the mean time taken to run one frame of a collision check
+     * @param frame The collision check to run
+     * @return Mean time per frame in nanoseconds
+     */
+    private static double time(Runnable frame) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            frame.run();
+        }
+        return (System.nanoTime() - start) / (double) FRAMES;
+    }
+
+
+    /** Collision check comparing every car against every entity which can be damaged
+     * @param game The game containing the entities
+     */
+    private static void checkAllPairs(Game game) {
+        Driver driver = game.getDriver();
+        for (Car attacker: game.getCars()) {
+            for (Car victimC: game.getCars()) {
+                attacker.collide(victimC);
+            }
+            for (Passenger victimP: game.getPassengers()) {
+                attacker.collide(victimP);
+            }
+
+            attacker.collide(driver.getTaxi());
+
+            if (driver.isVisible())
+                attacker.collide(driver);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import bagel.Keys;
+
+import java.util.ArrayList;
+import java.util.Properties;
+
+/** Benchmarks of the per-frame hot paths of the game, run headlessly against synthetic worlds
+ * of different sizes so that the cost per frame (and allocation per frame) can be tracked
+ * between releases
+ */
+public class HotPathBenchmark {
+    private static final int[] DEFAULT_SIZES = new int[] {100, 1000};
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 500;
+
+    private static final long SEED = 1;
+    private static final int FIREBALLS_PER_ENEMY = 10;
+    private static final KeyState DRIVE = KeyState.of(Keys.UP);
+
+    // gap between entities in the same lane, wide enough that nothing collides
+    private static final int GAP = 100;
+
+    private final GameConfig CONFIG;
+    private final Properties MSG_PROPS;
+    private final Sprite CAR_SPRITE;
+
+    /** Constructs a HotPathBenchmark object
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     */
+    public HotPathBenchmark(GameConfig config, Properties msgProps) {
+        CONFIG = config;
+        MSG_PROPS = msgProps;
+        CAR_SPRITE = CONFIG.ASSETS.ENEMY_CAR;
+    }
+
+
+    /** Builds a headless game with a number of cars spread out along the lanes
+     * @param cars Number of cars to add
+     * @return The game
+     */
+    private Game world(int cars) {
+        Game game = new Game(CONFIG, MSG_PROPS, true, SEED);
+        CarGenerator generator = game.getCarGenerator();
+        for (int i = 0; i < cars; i++) {
+            game.getCars().add(new Car(CONFIG, generator, CAR_SPRITE, 0, CONFIG.OTHER_CAR.RADIUS,
+                    CONFIG.OTHER_CAR.DAMAGE, laneX(i), laneY(i), CONFIG.OTHER_CAR.HEALTH));
+        }
+        return game;
+    }
+
+
+    /** Builds a headless game with enemy cars which have each shot a number of fireballs
+     * @param fireballs Total number of fireballs to add
+     * @return The game
+     */
+    private Game fireballWorld(int fireballs) {
+        Game game = new Game(CONFIG, MSG_PROPS, true, SEED);
+        CarGenerator generator = game.getCarGenerator();
+        int enemies = Math.max(1, fireballs / FIREBALLS_PER_ENEMY);
+        for (int i = 0; i < enemies; i++) {
+            EnemyCar enemy = new EnemyCar(CONFIG, generator, CAR_SPRITE, 0, laneX(i), laneY(i));
+            for (int j = 0; j < FIREBALLS_PER_ENEMY; j++) {
+                enemy.getFireballs().add(new Fireball(CONFIG, laneX(i), laneY(i) - (j + 1) * GAP * enemies));
+            }
+            game.getCars().add(enemy);
+        }
+        return game;
+    }
+
+
+    /** Builds a list of passengers, each with their own trip
+     * @param count Number of passengers
+     * @return The passengers
+     */
+    private ArrayList<Passenger> passengers(int count) {
+        ArrayList<Passenger> passengers = new ArrayList<Passenger>();
+        for (int i = 0; i < count; i++) {
+            Trip trip = new Trip(CONFIG, MSG_PROPS, laneY(i), i % 3 + 1, laneX(i), GAP, i % 2 == 0);
+            passengers.add(new Passenger(CONFIG, MSG_PROPS, laneX(i), laneY(i), trip));
+        }
+        return passengers;
+    }
+
+    private int laneX(int i) { return CONFIG.getLane(i % CONFIG.getLaneCount()); }
+    private int laneY(int i) { return -(i / CONFIG.getLaneCount()) * GAP; }
+
+
+    /** Runs every benchmark for every world size
+     * @param harness The harness used to time the benchmarks
+     * @param sizes The world sizes to run
+     */
+    public void runAll(BenchmarkHarness harness, int[] sizes) {
+        harness.printHeader();
+        for (int size: sizes) {
+            Game collisions = world(size);
+            harness.run("collisions", size, collisions::checkAllCollisions);
+
+            Game fireballs = fireballWorld(size);
+            harness.run("fireballs", size, fireballs::checkAllCollisions);
+
+            // one car colliding with every other car
+            Game pairs = world(size);
+            Car attacker = pairs.getCars().get(0);
+            ArrayList<Car> victims = pairs.getCars();
+            harness.run("carCollide", size, () -> {
+                for (int i = 0; i < victims.size(); i++) {
+                    attacker.collide(victims.get(i));
+                }
+            });
+
+            Game moving = world(size);
+            moving.getPassengers().addAll(passengers(size));
+            harness.run("moveForward", size, () -> moving.moveForward(DRIVE));
+
+            ArrayList<Passenger> waiting = passengers(size);
+            boolean[] raining = new boolean[1];
+            harness.run("updatePriority", size, () -> {
+                raining[0] = !raining[0];
+                for (int i = 0; i < waiting.size(); i++) {
+                    waiting.get(i).getTrip().updatePriority(true, raining[0]);
+                }
+            });
+        }
+
+        // spawning does not depend on the size of the world
+        CarGenerator generator = world(0).getCarGenerator();
+        harness.run("spawn", 1, () -> {
+            Car car;
+            do {
+                car = generator.generateCar();
+            } while (car == null);
+            generator.recycle(car);
+        });
+    }
+
+
+    /** Runs the benchmarks and prints the mean cost of each operation
+     * @param args Optionally, a comma separated list of world sizes (e.g. 100,1000,10000)
+     */
+    public static void main(String[] args) {
+        GameConfig config = new GameConfig(IOUtils.readPropertiesFile("res/app.properties"));
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            String[] parts = args[0].split(",");
+            sizes = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                sizes[i] = Integer.parseInt(parts[i].trim());
+            }
+        }
+
+        BenchmarkHarness harness = new BenchmarkHarness(WARMUP_ITERATIONS, ITERATIONS, ITERATION_MILLIS);
+        new HotPathBenchmark(config, msgProps).runAll(harness, sizes);
+    }
+}
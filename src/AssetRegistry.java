@@ -0,0 +1,141 @@
+import bagel.Font;
+import bagel.Image;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Singleton class which loads each graphic and font once and shares it between all
+ * sprites and typefaces that use it, keeping count of how many of them are in use
+ * Loaded graphics and fonts stay loaded for the life of the process (bagel cannot unload
+ * them), so a graphic or font with no users is not loaded again when it is next used, and
+ * counting users only updates an existing entry without taking a lock or allocating
+ */
+public class AssetRegistry {
+    private final ConcurrentHashMap<String, Asset> ASSETS = new ConcurrentHashMap<String, Asset>();
+
+    private int imageLoads = 0;
+    private int fontLoads = 0;
+
+    private static AssetRegistry _instance = null;
+
+    /** Class holding a loaded graphic or font and the number of users of it
+     */
+    private static class Asset {
+        private Image image = null;
+        private Font font = null;
+        private final AtomicInteger REFERENCES = new AtomicInteger();
+    }
+
+    /** Generates a single instance of AssetRegistry
+     */
+    private AssetRegistry() {
+    }
+
+
+    /** Loads every graphic and font used by the game so that none need to be loaded
+     * during gameplay (must be called after the game window has been created)
+     * @param config An object containing all game values and graphics
+     */
+    public synchronized void preload(GameConfig config) {
+        for (String path: config.getImagePaths()) {
+            getImage(path);
+        }
+
+        for (int size: config.getFontSizes()) {
+            getFont(config.FONT, size);
+        }
+    }
+
+
+    /** Gets a graphic, loading it if it has not been used yet
+     * @param path The path of the graphic
+     * @return The shared graphic
+     */
+    public synchronized Image getImage(String path) {
+        Asset asset = entry(path);
+        if (asset.image == null) {
+            asset.image = new Image(path);
+            imageLoads++;
+        }
+        return asset.image;
+    }
+
+
+    /** Gets a font, loading it if it has not been used yet
+     * @param path The path of the font file
+     * @param size The font size
+     * @return The shared font
+     */
+    public synchronized Font getFont(String path, int size) {
+        Asset asset = entry(fontKey(path, size));
+        if (asset.font == null) {
+            asset.font = new Font(path, size);
+            fontLoads++;
+        }
+        return asset.font;
+    }
+
+
+    /** Records a new user of a graphic or font
+     * @param key The path of the graphic, or key of the font
+     */
+    public void acquire(String key) {
+        entry(key).REFERENCES.incrementAndGet();
+    }
+
+
+    /** Records that a graphic or font is no longer used (it stays loaded)
+     * @param key The path of the graphic, or key of the font
+     */
+    public void release(String key) {
+        Asset asset = ASSETS.get(key);
+        if (asset != null) {
+            asset.REFERENCES.decrementAndGet();
+        }
+    }
+
+
+    /** Gets the registry entry for a graphic or font, creating it if needed
+     */
+    private Asset entry(String key) {
+        Asset asset = ASSETS.get(key);
+        if (asset == null) {
+            asset = ASSETS.computeIfAbsent(key, k -> new Asset());
+        }
+        return asset;
+    }
+
+
+    /** Finds the key used to store a font
+     * @param path The path of the font file
+     * @param size The font size
+     * @return The key of the font
+     */
+    public static String fontKey(String path, int size) {
+        return path + "@" + size;
+    }
+
+
+    /** Gets the number of users of a graphic or font
+     * @param key The path of the graphic, or key of the font
+     * @return Number of users
+     */
+    public int getReferences(String key) {
+        Asset asset = ASSETS.get(key);
+        return asset == null ? 0 : asset.REFERENCES.get();
+    }
+
+    public synchronized int getImageLoads() { return imageLoads; }
+    public synchronized int getFontLoads() { return fontLoads; }
+
+
+    /** Gets single instance of asset registry, creating a new one if none exists
+     * @return The singular instance of AssetRegistry
+     */
+    public static synchronized AssetRegistry getInstance() {
+        if (_instance == null) {
+            _instance = new AssetRegistry();
+        }
+        return _instance;
+    }
+}
@@ -0,0 +1,175 @@
+import bagel.Keys;
+
+import java.util.ArrayList;
+
+/** Class which plays the game without a player, giving benchmarks and soak tests realistic input
+ * The taxi keeps to the road lanes, stops to pick up the nearest passenger ahead, drives them
+ * until they pass their trip's end flag, and changes lane (or waits) to keep clear of cars ahead
+ * Each frame looks at every car and passenger at most a few times and never allocates, so a
+ * decision takes microseconds
+ */
+public class Autopilot implements Controller {
+    private final int[] LANES;
+    private final double TAXI_RADIUS;
+
+    // distance ahead at which a car in the taxi's path makes it look for a clearer lane
+    private static final double SAFE_DISTANCE = 150;
+    // smallest distance to the car ahead at which the taxi keeps driving forward
+    private static final double MIN_GAP = 20;
+
+    // keys for every vertical move (none, up, down) combined with every horizontal move
+    // (none, left, right)
+    private static final int STAY = 0;
+    private static final int FORWARD = 1;
+    private static final int BACK = 2;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final KeyState[] KEYS = new KeyState[] {
+            KeyState.NONE, KeyState.of(Keys.LEFT), KeyState.of(Keys.RIGHT),
+            KeyState.of(Keys.UP), KeyState.of(Keys.UP, Keys.LEFT), KeyState.of(Keys.UP, Keys.RIGHT),
+            KeyState.of(Keys.DOWN), KeyState.of(Keys.DOWN, Keys.LEFT), KeyState.of(Keys.DOWN, Keys.RIGHT)};
+
+    /** Constructs an Autopilot object
+     * @param config An object containing all game values and graphics
+     */
+    public Autopilot(GameConfig config) {
+        LANES = new int[config.getLaneCount()];
+        for (int i = 0; i < LANES.length; i++) {
+            LANES[i] = config.getLane(i);
+        }
+        TAXI_RADIUS = config.TAXI_RADIUS;
+    }
+
+
+    /** Chooses the keys to hold down in the next frame of a game
+     * @param game The game being played, in its state before the frame
+     * @return The keys held down in the frame
+     */
+    @Override
+    public KeyState nextInput(Game game) {
+        Driver driver = game.getDriver();
+        Taxi taxi = driver.getTaxi();
+        if (driver.isVisible()) {
+            // taxi was destroyed, walk to the new one
+            return walkTo(driver, taxi.getX(), taxi.getY());
+        }
+
+        Passenger passenger = driver.getPassenger();
+        double targetX;
+        boolean stop;
+        if (passenger != null) {
+            // drive the passenger until they pass the end flag, or wait for them to get back in
+            EndFlag end = passenger.getTrip().getEnd();
+            targetX = end.getX();
+            stop = passenger.isApproachTaxi() || passenger.getY() <= end.getY();
+        }
+        else {
+            Passenger next = nextPassenger(game.getPassengers(), taxi);
+            targetX = next != null ? next.getX() : taxi.getX();
+            stop = next != null && next.distanceTo(taxi.getX(), taxi.getY()) <= next.TAXI_DETECT_RAD;
+        }
+        if (stop) {
+            // passengers only get in or out of a taxi which is not moving
+            return KeyState.NONE;
+        }
+
+        ArrayList<Car> cars = game.getCars();
+        int lane = nearestLane(targetX);
+        double gap = clearance(cars, taxi.getX(), taxi.getY());
+        if (gap < SAFE_DISTANCE) {
+            // car ahead, head for the lane with the most room (the target lane if it is as good)
+            double laneGap = clearance(cars, LANES[lane], taxi.getY());
+            for (int i = 0; i < LANES.length; i++) {
+                double iGap = clearance(cars, LANES[i], taxi.getY());
+                if (iGap > laneGap) {
+                    lane = i;
+                    laneGap = iGap;
+                }
+            }
+        }
+
+        int vertical = gap > MIN_GAP ? FORWARD : STAY;
+        return KEYS[vertical * 3 + steer(taxi.getX(), LANES[lane], taxi.SPEED_X)];
+    }
+
+
+    /** Finds the closest passenger ahead of the taxi who is still waiting to be picked up
+     */
+    private static Passenger nextPassenger(ArrayList<Passenger> passengers, Taxi taxi) {
+        Passenger next = null;
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            if (p.isCollected() || p.isDead() || p.getY() > taxi.getY() + p.TAXI_DETECT_RAD) {
+                // already picked up, or behind the taxi which cannot reverse
+                continue;
+            }
+            if (next == null || p.getY() > next.getY()) {
+                next = p;
+            }
+        }
+        return next;
+    }
+
+
+    /** Finds the distance a taxi at a position could drive forward before hitting a car
+     * @return The distance, which is 0 if a car is alongside and infinite if the way is clear
+     */
+    private double clearance(ArrayList<Car> cars, double x, double y) {
+        double gap = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            double radii = TAXI_RADIUS + c.getRadius();
+            if (c.isDead() || Math.abs(c.getX() - x) >= radii || c.getY() > y + radii) {
+                // not in the way
+                continue;
+            }
+            gap = Math.min(gap, Math.max(0, y - c.getY() - radii));
+        }
+        return gap;
+    }
+
+
+    /** Finds the lane whose centre is closest to an x-coord
+     */
+    private int nearestLane(double x) {
+        int nearest = 0;
+        for (int i = 1; i < LANES.length; i++) {
+            if (Math.abs(LANES[i] - x) < Math.abs(LANES[nearest] - x)) {
+                nearest = i;
+            }
+        }
+        return nearest;
+    }
+
+
+    /** Chooses the horizontal move which brings an x-coord towards a target
+     * @param x The current x-coord
+     * @param targetX The target x-coord
+     * @param tolerance Distance from the target which is close enough
+     */
+    private static int steer(double x, double targetX, double tolerance) {
+        if (targetX - x >= tolerance) {
+            return RIGHT;
+        }
+        else if (x - targetX >= tolerance) {
+            return LEFT;
+        }
+        return STAY;
+    }
+
+
+    /** Chooses the keys which walk the driver towards their taxi
+     */
+    private static KeyState walkTo(Driver driver, double x, double y) {
+        // close enough on both axes to be within the driver's radius of the taxi
+        double tolerance = driver.RADIUS / 2;
+        int vertical = STAY;
+        if (driver.getY() - y > tolerance) {
+            vertical = FORWARD;
+        }
+        else if (y - driver.getY() > tolerance) {
+            vertical = BACK;
+        }
+        return KEYS[vertical * 3 + steer(driver.getX(), x, tolerance)];
+    }
+}
@@ -1,34 +1,35 @@
-import bagel.Image;
-import bagel.Window;
-
-import java.util.Properties;
-
 /** A class representing the current background of the game which may revolve
  * to give the appearance of character movement
  */
 public class Background implements Displayable{
-    private final Image BACKGROUND;
-    private final Image RAIN_BACKGROUND;
+    private final Sprite BACKGROUND;
+    private final Sprite RAIN_BACKGROUND;
 
-    private static final int WINDOW_WIDTH = Window.getWidth();
-    private static final int WINDOW_HEIGHT = Window.getHeight();
+    private final int WINDOW_WIDTH;
+    private final int WINDOW_HEIGHT;
 
     private static final double BACKGROUND_MIN = -0.5;
     private static final double BACKGROUND_MAX = 1.5;
 
-    private double backgroundPos1 = WINDOW_HEIGHT / 2.0;
-    private double backgroundPos2 = - backgroundPos1;
+    private double backgroundPos1;
+    private double backgroundPos2;
 
-    private Image currentBackground;
+    private Sprite currentBackground;
 
 
     /** Constructs a Background object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param w The initial weather at the start of the game
      */
-    public Background(Properties gameProps, Weather w) {
-        BACKGROUND = new Image(gameProps.getProperty("backgroundImage.sunny"));
-        RAIN_BACKGROUND = new Image(gameProps.getProperty("backgroundImage.raining"));
+    public Background(GameConfig config, Weather w) {
+        BACKGROUND = config.ASSETS.BACKGROUND_SUNNY.acquire();
+        RAIN_BACKGROUND = config.ASSETS.BACKGROUND_RAINING.acquire();
+
+        WINDOW_WIDTH = config.WINDOW_WIDTH;
+        WINDOW_HEIGHT = config.WINDOW_HEIGHT;
+
+        backgroundPos1 = WINDOW_HEIGHT / 2.0;
+        backgroundPos2 = - backgroundPos1;
 
         changeWeather(w.WEATHER.equals("RAINING"));
     }
@@ -44,18 +45,18 @@ public class Background implements Displayable{
 
         // update background when moving forwards
         if (backgroundPos1 >= BACKGROUND_MAX * WINDOW_HEIGHT) {
-            backgroundPos1 = backgroundPos2 - Window.getHeight();
+            backgroundPos1 = backgroundPos2 - WINDOW_HEIGHT;
         }
         if (backgroundPos2 >= BACKGROUND_MAX * WINDOW_HEIGHT) {
-            backgroundPos2 = backgroundPos1 - Window.getHeight();
+            backgroundPos2 = backgroundPos1 - WINDOW_HEIGHT;
         }
 
         // update background when moving background
         if (backgroundPos1 <= BACKGROUND_MIN * WINDOW_HEIGHT) {
-            backgroundPos1 = backgroundPos2 + Window.getHeight();
+            backgroundPos1 = backgroundPos2 + WINDOW_HEIGHT;
         }
         if (backgroundPos2 <= BACKGROUND_MIN * WINDOW_HEIGHT) {
-            backgroundPos2 = backgroundPos1 + Window.getHeight();
+            backgroundPos2 = backgroundPos1 + WINDOW_HEIGHT;
         }
 
     }
@@ -71,6 +72,25 @@ public class Background implements Displayable{
     }
 
 
+    /** Displays the background images where the road is drawn, which may lag behind the
+     * latest tick
+     * @param camera The view through which the road is seen
+     */
+    public void display(Camera camera) {
+        double shift = camera.getDrawShift();
+        currentBackground.draw(WINDOW_WIDTH/2.0, backgroundPos1 + shift);
+        currentBackground.draw(WINDOW_WIDTH/2.0, backgroundPos2 + shift);
+    }
+
+
+    /** Releases the background images once the game is over
+     */
+    public void release() {
+        BACKGROUND.release();
+        RAIN_BACKGROUND.release();
+    }
+
+
     /** Changes the weather to either raining or sunny
      * @param isRaining flags if weather should be switched to raining or sunny
      */
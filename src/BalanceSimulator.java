@@ -0,0 +1,292 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/** Class which plays many seeded headless shifts in parallel on a fork-join pool and combines
+ * their outcomes (win rate, earnings, causes of losses and frames taken to reach the target),
+ * so that changes to the game values can be judged without playing by hand
+ * The sessions are split and their results combined in a fixed order, so a run gives the same
+ * results for the same seed no matter how many threads play it
+ */
+public class BalanceSimulator {
+    private final GameConfig CONFIG;
+    private final Properties MSG_PROPS;
+    private final Level LEVEL;
+    private final Supplier<Controller> CONTROLLERS;
+    private final ForkJoinPool POOL;
+
+    // largest number of sessions a task plays itself rather than splitting in two
+    private static final int SESSIONS_PER_TASK = 4;
+
+    private static final String[] LOSS_CAUSES = new String[] {
+            "", "passenger died", "left screen", "driver died", "out of time"};
+
+    private static final int DEFAULT_SESSIONS = 1000;
+    private static final String AUTOPILOT_ARG = "autopilot";
+    private static final double NANOS_PER_SECOND = 1e9;
+    // z-score of a 95% confidence interval
+    private static final double Z_95 = 1.96;
+
+    /** Constructs a BalanceSimulator object
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @param level The level every session is played on
+     * @param controllers Gives the controller which plays each session
+     * @param threads The number of sessions to play at once
+     */
+    public BalanceSimulator(GameConfig config, Properties msgProps, Level level,
+                            Supplier<Controller> controllers, int threads) {
+        CONFIG = config;
+        MSG_PROPS = msgProps;
+        LEVEL = level;
+        CONTROLLERS = controllers;
+        POOL = new ForkJoinPool(threads);
+    }
+
+
+    /** Plays a number of sessions, each with the seed after that of the previous session
+     * @param seed Seed of the first session
+     * @param sessions The number of sessions to play
+     * @return The combined outcomes of all sessions
+     */
+    public Results run(long seed, int sessions) {
+        return POOL.invoke(new SessionTask(seed, 0, sessions));
+    }
+
+
+    /** Plays a single session until it has been won or lost
+     * @param seed The seed of the session
+     * @return The outcome of the session
+     */
+    public Results playSession(long seed) {
+        Game game = new Game(CONFIG, MSG_PROPS, true, seed, LEVEL);
+        Controller controller = CONTROLLERS.get();
+
+        int status = Game.PLAY;
+        while (status == Game.PLAY) {
+            status = game.playGame(controller);
+        }
+
+        game.release();
+        return new Results(status, game.getLossCause(), game.getTotalEarnings(), game.getFramesPlayed());
+    }
+
+
+    /** Stops the threads playing sessions
+     */
+    public void shutdown() {
+        POOL.shutdown();
+    }
+
+
+    /** Task which plays a range of sessions, splitting it in two until it is small enough
+     */
+    private class SessionTask extends RecursiveTask<Results> {
+        private static final long serialVersionUID = 1L;
+
+        private final long SEED;
+        private final int FROM;
+        private final int TO;
+
+        private SessionTask(long seed, int from, int to) {
+            SEED = seed;
+            FROM = from;
+            TO = to;
+        }
+
+        @Override
+        protected Results compute() {
+            if (TO - FROM <= SESSIONS_PER_TASK) {
+                Results results = new Results();
+                for (int i = FROM; i < TO; i++) {
+                    results = results.merge(playSession(SEED + i));
+                }
+                return results;
+            }
+
+            int mid = (FROM + TO) >>> 1;
+            SessionTask first = new SessionTask(SEED, FROM, mid);
+            first.fork();
+            Results second = new SessionTask(SEED, mid, TO).compute();
+            return first.join().merge(second);
+        }
+    }
+
+
+    /** Class holding the combined outcomes of a number of sessions
+     */
+    public static class Results {
+        private final int SESSIONS;
+        private final int WINS;
+        private final long FRAMES;
+        private final int[] LOSSES = new int[LOSS_CAUSES.length];
+        // earnings of every session, and frames taken by every won session
+        private final double[] EARNINGS;
+        private final int[] FRAMES_TO_TARGET;
+
+        /** Constructs the results of no sessions
+         */
+        private Results() {
+            SESSIONS = 0;
+            WINS = 0;
+            FRAMES = 0;
+            EARNINGS = new double[0];
+            FRAMES_TO_TARGET = new int[0];
+        }
+
+        /** Constructs the results of a single session
+         */
+        private Results(int status, int lossCause, double earnings, int frames) {
+            SESSIONS = 1;
+            WINS = status == Game.WIN ? 1 : 0;
+            FRAMES = frames;
+            LOSSES[lossCause] = status == Game.LOSE ? 1 : 0;
+            EARNINGS = new double[] {earnings};
+            FRAMES_TO_TARGET = status == Game.WIN ? new int[] {frames} : new int[0];
+        }
+
+        /** Constructs the results of two sets of sessions combined
+         */
+        private Results(Results first, Results second) {
+            SESSIONS = first.SESSIONS + second.SESSIONS;
+            WINS = first.WINS + second.WINS;
+            FRAMES = first.FRAMES + second.FRAMES;
+            for (int i = 0; i < LOSSES.length; i++) {
+                LOSSES[i] = first.LOSSES[i] + second.LOSSES[i];
+            }
+
+            EARNINGS = Arrays.copyOf(first.EARNINGS, SESSIONS);
+            System.arraycopy(second.EARNINGS, 0, EARNINGS, first.SESSIONS, second.SESSIONS);
+            FRAMES_TO_TARGET = Arrays.copyOf(first.FRAMES_TO_TARGET, WINS);
+            System.arraycopy(second.FRAMES_TO_TARGET, 0, FRAMES_TO_TARGET, first.WINS, second.WINS);
+        }
+
+
+        /** Combines these results with those of later sessions
+         * @param other The results of the later sessions
+         * @return The results of both sets of sessions
+         */
+        public Results merge(Results other) {
+            return new Results(this, other);
+        }
+
+
+        /** Gets the given percentile of the earnings of all sessions
+         * @param fraction The percentile as a fraction (e.g. 0.9)
+         * @return The earnings
+         */
+        public double getEarningsPercentile(double fraction) {
+            double[] sorted = EARNINGS.clone();
+            Arrays.sort(sorted);
+            return sorted.length == 0 ? 0 : sorted[rank(fraction, sorted.length)];
+        }
+
+
+        /** Gets the given percentile of the frames taken to reach the target by won sessions
+         * @param fraction The percentile as a fraction (e.g. 0.9)
+         * @return The number of frames
+         */
+        public int getFramesToTargetPercentile(double fraction) {
+            int[] sorted = FRAMES_TO_TARGET.clone();
+            Arrays.sort(sorted);
+            return sorted.length == 0 ? 0 : sorted[rank(fraction, sorted.length)];
+        }
+
+
+        /** Finds the index of a percentile in a sorted array (nearest rank)
+         */
+        private static int rank(double fraction, int length) {
+            return Math.max(0, (int) Math.ceil(fraction * length) - 1);
+        }
+
+
+        /** Gets the mean earnings of all sessions
+         */
+        public double getMeanEarnings() {
+            return SESSIONS == 0 ? 0 : Arrays.stream(EARNINGS).sum() / SESSIONS;
+        }
+
+
+        /** Gets the mean number of frames taken to reach the target by won sessions
+         */
+        public double getMeanFramesToTarget() {
+            return WINS == 0 ? 0 : Arrays.stream(FRAMES_TO_TARGET).average().getAsDouble();
+        }
+
+
+        /** Writes a summary of the results
+         * @param out The stream to write to
+         */
+        public void report(PrintStream out) {
+            double winRate = getWinRate();
+            double error = SESSIONS == 0 ? 0 : Z_95 * Math.sqrt(winRate * (1 - winRate) / SESSIONS);
+            out.printf("won %d/%d (%.1f%% +/- %.1f%%)%n", WINS, SESSIONS, winRate * 100, error * 100);
+            out.printf("earnings mean %.2f, p10 %.2f, p50 %.2f, p90 %.2f, max %.2f%n",
+                    getMeanEarnings(), getEarningsPercentile(0.1), getEarningsPercentile(0.5),
+                    getEarningsPercentile(0.9), getEarningsPercentile(1));
+            if (WINS > 0) {
+                out.printf("frames to target mean %.0f, p10 %d, p50 %d, p90 %d%n",
+                        getMeanFramesToTarget(), getFramesToTargetPercentile(0.1),
+                        getFramesToTargetPercentile(0.5), getFramesToTargetPercentile(0.9));
+            }
+            for (int i = Game.PASSENGER_DIED; i < LOSSES.length; i++) {
+                out.printf("lost (%s) %d%n", LOSS_CAUSES[i], LOSSES[i]);
+            }
+        }
+
+        public int getSessions() { return SESSIONS; }
+        public int getWins() { return WINS; }
+        public double getWinRate() { return SESSIONS == 0 ? 0 : (double) WINS / SESSIONS; }
+        public long getFrames() { return FRAMES; }
+        public int getLosses(int cause) { return LOSSES[cause]; }
+    }
+
+
+    /** Plays a batch of headless sessions in parallel and reports their combined outcomes
+     * @param args Optionally, the number of sessions, the seed of the first session (otherwise
+     *             the seed in the game properties, or a new seed if there is none), the number
+     *             of threads (otherwise one per core) and either "autopilot" or a recording
+     *             whose input drives every session (otherwise the scripted input of a Simulation)
+     * @throws IOException If the level or the recording could not be read
+     */
+    public static void main(String[] args) throws IOException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        GameConfig config = new GameConfig(gameProps);
+
+        long seed;
+        if (args.length > 1) {
+            seed = Long.parseLong(args[1]);
+        }
+        else {
+            seed = config.SEED != null ? config.SEED : GameRandom.newSeed();
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Supplier<Controller> controllers = () -> Simulation.SCRIPT;
+        if (args.length > 3 && args[3].equals(AUTOPILOT_ARG)) {
+            controllers = () -> new Autopilot(config);
+        }
+        else if (args.length > 3) {
+            Controller replay = Replay.load(args[3]);
+            controllers = () -> replay;
+        }
+
+        BalanceSimulator sim = new BalanceSimulator(config, msgProps, Level.load(config), controllers, threads);
+        long start = System.nanoTime();
+        Results results = sim.run(seed, sessions);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        sim.shutdown();
+
+        System.out.printf("seed %d, %d threads%n", seed, threads);
+        System.out.printf("%d sessions (%d frames) in %.2fs: %.1f sessions/s, %.0f frames/s%n",
+                sessions, results.getFrames(), seconds, sessions / seconds, results.getFrames() / seconds);
+        results.report(System.out);
+    }
+}
@@ -0,0 +1,127 @@
+/** Class representing the view of the road shown in the game window
+ * Entities are positioned in world coordinates, which stay fixed as the player moves forward,
+ * and the camera's offset is only applied when they are drawn or compared with the window
+ * Drawing may fall part way between the last two ticks of the game, in which case the offset
+ * (and each entity's position) is blended between its values at those ticks
+ */
+public class Camera {
+    private final int WINDOW_HEIGHT;
+
+    // amount added to a world y-coord to find where it appears on screen
+    private double offset = 0;
+    private double previousOffset = 0;
+    // fraction of the way from the previous tick to the latest tick at which the game is drawn
+    private double blend = 1;
+    // how much optional detail is drawn, one of the QualityGovernor levels
+    private int quality = QualityGovernor.FULL;
+
+    /** Constructs a Camera object showing the start of the road
+     * @param windowHeight Height of the game window
+     */
+    public Camera(int windowHeight) {
+        WINDOW_HEIGHT = windowHeight;
+    }
+
+
+    /** Moves the view forward along the road
+     * @param dist The amount by which the player has moved forward
+     */
+    public void scroll(double dist) {
+        offset += dist;
+    }
+
+
+    /** Converts a world y-coord to a position on screen
+     * @param worldY The y-coord in the world
+     * @return The y-coord on screen
+     */
+    public double toScreenY(double worldY) {
+        return worldY + offset;
+    }
+
+
+    /** Converts a world y-coord which does not move between ticks to where it is drawn
+     * @param worldY The y-coord in the world
+     * @return The y-coord on screen
+     */
+    public double toDrawY(double worldY) {
+        return toDrawY(worldY, worldY);
+    }
+
+
+    /** Converts a world y-coord to where it is drawn, between its values at the last two ticks
+     * @param previousY The y-coord in the world at the previous tick
+     * @param worldY The y-coord in the world at the latest tick
+     * @return The y-coord on screen
+     */
+    public double toDrawY(double previousY, double worldY) {
+        return blend(previousY, worldY) + blend(previousOffset, offset);
+    }
+
+
+    /** Blends a value between the last two ticks, at the point the game is being drawn
+     * @param previous The value at the previous tick
+     * @param latest The value at the latest tick
+     * @return The value to draw
+     */
+    public double blend(double previous, double latest) {
+        return previous + (latest - previous) * blend;
+    }
+
+
+    /** Keeps the current offset as that of the previous tick, before the next tick moves it
+     */
+    public void savePosition() {
+        previousOffset = offset;
+    }
+
+
+    /** Checks if a world y-coord is within a distance of the window
+     * @param worldY The y-coord in the world
+     * @param margin Distance beyond the top or bottom of the window which still counts
+     * @return Flag indicating the y-coord can be seen
+     */
+    public boolean isOnScreen(double worldY, double margin) {
+        double screenY = toScreenY(worldY);
+        return screenY >= -margin && screenY <= WINDOW_HEIGHT + margin;
+    }
+
+
+    /** Checks if smoke, fire and blood effects are drawn at the current quality
+     */
+    public boolean showsEffects() { return quality == QualityGovernor.FULL; }
+
+    /** Checks if passenger labels and end flags away from the window are drawn at the current
+     * quality
+     */
+    public boolean showsDetails() { return quality != QualityGovernor.LOW; }
+
+
+    /** Converts a position on screen to a world y-coord
+     * @param screenY The y-coord on screen
+     * @return The y-coord in the world
+     */
+    public double toWorldY(double screenY) {
+        return screenY - offset;
+    }
+
+
+    /** Gets the world y-coord shown at the top of the window
+     */
+    public double getTop() { return -offset; }
+
+    /** Gets the world y-coord shown at the bottom of the window
+     */
+    public double getBottom() { return WINDOW_HEIGHT - offset; }
+
+    /** Gets the distance by which things drawn on screen lag behind the latest tick
+     */
+    public double getDrawShift() { return blend(previousOffset, offset) - offset; }
+
+    public double getOffset() { return offset; }
+
+    public int getQuality() { return quality; }
+
+    public void setBlend(double blend) { this.blend = blend; }
+    public void setQuality(int quality) { this.quality = quality; }
+}
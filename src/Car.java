@@ -1,8 +1,3 @@
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.Properties;
-
 /*
  * Class which implements all cars including taxis, enemy cars
  * and other cars
@@ -12,14 +7,15 @@ import java.util.Properties;
  * do and take damage
  */
 public class Car extends GameEntity implements Damagable, Collidable {
-    private final Properties GAME_PROPS;
+    private final CarGenerator GENERATOR;
 
-    private final Image SMOKE;
-    public final Image FIRE;
+    private final Sprite SMOKE;
+    public final Sprite FIRE;
 
     private final int SMOKE_MAX_FRAMES;
     private final int FIRE_MAX_FRAMES;
     private final double DAMAGE;
+    private final double MAX_HEALTH;
 
     private static final int COLLISION_TIMEOUT = 200;
     private static final int MOVE_TIMEOUT = 10;
@@ -28,8 +24,9 @@ public class Car extends GameEntity implements Damagable, Collidable {
 
     private double health;
     private int effectFor = 0;
-    private Image effect;
-    private Point posOfEffect = null;
+    private Sprite effect;
+    private double effectX;
+    private double effectY;
     private boolean dead = false;
     private int immuneFor = 0;
     private int collisionMovement = 0;
@@ -37,70 +34,72 @@ public class Car extends GameEntity implements Damagable, Collidable {
 
 
     /** Constructs a Car object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
+     * @param generator The generator which gives the car a new speed after a collision
+     *                  (null for taxis, which never change speed)
      * @param sprite The graphic used to represent the car
      * @param speed_Y The speed at which the car travels forward
      * @param radius The collision radius of the car
      * @param damage How much damage a car will do to an entity it collides with
-     * @param position The initial position of the car on screen
+     * @param x The initial x-coord of the car on screen
+     * @param y The initial y-coord of the car on screen
      * @param health The initial health points of the car
      */
-    public Car(Properties gameProps, Image sprite, int speed_Y, double radius,
-               double damage, Point position, double health) {
-        super(sprite, radius, speed_Y, position);
-        GAME_PROPS = gameProps;
+    public Car(GameConfig config, CarGenerator generator, Sprite sprite, int speed_Y, double radius,
+               double damage, double x, double y, double health) {
+        super(sprite, radius, speed_Y, x, y);
+        GENERATOR = generator;
 
-        SMOKE = new Image(gameProps.getProperty("gameObjects.smoke.image"));
-        FIRE = new Image(gameProps.getProperty("gameObjects.fire.image"));
+        SMOKE = config.ASSETS.SMOKE.acquire();
+        FIRE = config.ASSETS.FIRE.acquire();
 
-        SMOKE_MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gameObjects.smoke.ttl"));
-        FIRE_MAX_FRAMES = Integer.parseInt(gameProps.getProperty("gameObjects.fire.ttl"));
+        SMOKE_MAX_FRAMES = config.SMOKE.TTL;
+        FIRE_MAX_FRAMES = config.FIRE.TTL;
 
-        this.health = health * DOUBLE_MULT;
+        MAX_HEALTH = health * DOUBLE_MULT;
+        this.health = MAX_HEALTH;
         DAMAGE = damage * DOUBLE_MULT;
     }
 
 
     /** Displays car and any of the effects currently applied to it
+     * @param camera The view through which the car is seen
      */
     @Override
-    public void display() {
-        super.display();
+    public void display(Camera camera) {
+        super.display(camera);
+        displayEffect(camera);
+    }
+
+
+    /** Updates collision timeout and any of the effects currently applied to the car
+     */
+    @Override
+    public void update() {
         if (immuneFor > 0) {
             immuneFor--;
         }
 
-        displayEffect(effect);
+        updateEffect();
     }
 
 
-    /** Moves the car in the y direction depending on current status
-     * @param increase The amount by which the player has moved forward
+    /** Moves the car in the y direction under its own speed depending on current status
      */
-    @Override
-    public void moveY(int increase) {
+    public void move() {
         if(collisionMovement > 0) {
             // move away from point of collision
             collisionMovement--;
-            setPosition(new Point(getPosition().x, getPosition().y + increase + direction));
+            setY(getY() + direction);
             if (collisionMovement == 0) {
                 // get a new speed
-                int newSpeed = CarGenerator.getInstance(GAME_PROPS).getSpeed(this instanceof EnemyCar);
+                int newSpeed = GENERATOR.getSpeed(this instanceof EnemyCar);
                 setSpeedY(newSpeed);
             }
         }
-        else if (effectFor > 0){
-            // car stalled
-            setPosition(new Point(getPosition().x, getPosition().y + increase));
-        }
-        else {
-            // normal forward movement
-            setPosition(new Point(getPosition().x, getPosition().y + increase  - getSpeedY()));
-
-        }
-
-        if (posOfEffect != null) {
-            posOfEffect = new Point(posOfEffect.x, posOfEffect.y + increase);
+        else if (effectFor == 0) {
+            // normal forward movement (a car with an effect is stalled)
+            setY(getY() - getSpeedY());
         }
     }
 
@@ -116,7 +115,8 @@ public class Car extends GameEntity implements Damagable, Collidable {
         else {
             effectFor = SMOKE_MAX_FRAMES;
             effect = SMOKE;
-            posOfEffect = new Point(getPosition().x, getPosition().y);
+            effectX = getX();
+            effectY = getY();
         }
     }
 
@@ -129,7 +129,8 @@ public class Car extends GameEntity implements Damagable, Collidable {
         dead = true;
         effectFor = FIRE_MAX_FRAMES;
         effect = FIRE;
-        posOfEffect = new Point(getPosition().x, getPosition().y);
+        effectX = getX();
+        effectY = getY();
     }
 
 
@@ -139,7 +140,7 @@ public class Car extends GameEntity implements Damagable, Collidable {
     @Override
     public void moveAway(Collidable c) {
         collisionMovement = MOVE_TIMEOUT;
-        if (c.getPosition().y > getPosition().y) {
+        if (c.getY() > getY()) {
             direction = -MOVE_SPEED;
         }
         else {
@@ -160,7 +161,7 @@ public class Car extends GameEntity implements Damagable, Collidable {
         }
         // check if within range
         double collisionDistance = RADIUS + entity.getRadius();
-        return getPosition().distanceTo(entity.getPosition()) <= collisionDistance;
+        return distanceTo(entity.getX(), entity.getY()) <= collisionDistance;
     }
 
 
@@ -189,24 +190,75 @@ public class Car extends GameEntity implements Damagable, Collidable {
     }
 
 
-    /** Displays effect car currently has on screen
-     * @param effect Image representing which effect (fire/smoke) that is being displayed
+    /** Displays effect (fire/smoke) car currently has on screen
+     * @param camera The view through which the car is seen
+     */
+    public void displayEffect(Camera camera) {
+        if (effect != null && camera.showsEffects()) {
+            effect.draw(effectX, camera.toDrawY(effectY));
+        }
+    }
+
+
+    /** Reduces the remaining frames of the effect car currently has
+     * The effect is still drawn in the frame its countdown reaches zero, and removed in the
+     * frame after, so it is shown for its full number of frames
      */
-    public void displayEffect(Image effect) {
+    public void updateEffect() {
         if (effectFor > 0) {
             effectFor--;
-            effect.draw(posOfEffect.x, posOfEffect.y);
-            if (effectFor == 0) {
-                // stop displaying effect
-                posOfEffect = null;
-                if (effect.equals(FIRE)) {
-                    // stop generating car
-                    setVisible(false);
-                }
+        }
+        else if (effect != null) {
+            // stop displaying effect
+            if (effect.equals(FIRE)) {
+                // stop generating car
+                setVisible(false);
             }
+            effect = null;
         }
     }
 
+    /** Restores the car to the state of a newly constructed car so that it can be reused
+     * @param sprite The graphic used to represent the car
+     * @param speed_Y The speed at which the car travels forward
+     * @param x The initial x-coord of the car
+     * @param y The initial y-coord of the car in the world
+     */
+    public void reset(Sprite sprite, int speed_Y, double x, double y) {
+        setSprite(sprite);
+        setSpeedY(speed_Y);
+        setPosition(x, y);
+        savePosition();
+        setVisible(true);
+
+        health = MAX_HEALTH;
+        effectFor = 0;
+        effect = null;
+        dead = false;
+        immuneFor = 0;
+        collisionMovement = 0;
+        direction = 0;
+    }
+
+
+    /** Releases the graphics used by the car once it has been removed from the game
+     */
+    @Override
+    public void retire() {
+        super.retire();
+        SMOKE.release();
+        FIRE.release();
+    }
+
+
+    /** Checks if car has burnt out and no longer needs to be kept in the game
+     * @return Flag representing if car is finished
+     */
+    public boolean isFinished() {
+        return dead && effect == null;
+    }
+
+
     /** Checks if car is in collision timeout
      * @return Flag representing vulnerability status of car
      */
@@ -228,10 +280,11 @@ public class Car extends GameEntity implements Damagable, Collidable {
     public boolean isDead() { return dead; }
     public double getHealth() { return health; }
     public double getRadius() { return RADIUS; }
-    public Point getPosOfEffect() { return posOfEffect; }
+    public double getEffectX() { return effectX; }
+    public double getEffectY() { return effectY; }
     public int getCollisionMovement() { return collisionMovement; }
     public int getDirection() { return direction; }
+    protected CarGenerator getGenerator() { return GENERATOR; }
 
     public void setCollisionMovement(int collisionMovement) { this.collisionMovement = collisionMovement; }
-    public void setPosOfEffect(Point posOfEffect) {this.posOfEffect = posOfEffect;}
 }
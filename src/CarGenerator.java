@@ -1,47 +1,43 @@
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.Properties;
 import java.util.Random;
 
 
-/** Singleton class which randomly generates different type of cars
- * and adds then to the game
+/** Class which randomly generates different type of cars (and the fireballs shot by
+ * enemy cars) and adds then to the game, reusing cars and fireballs which have been removed
+ * from the game where possible
  */
 public class CarGenerator {
-    private final Properties GAME_PROPS;
-    private final Random RAND = new Random();
-
-    private final int LANES[];
-    private final int MAX_SPEED;
-    private final int MIN_SPEED;
-    private final int ENEMY_MAX_SPEED;
-    private final int ENEMY_MIN_SPEED;
-
-    private static final int CAR_DIVISOR = 200;
-    private static final int ENEMY_DIVISOR = 400;
-    private static final int CAR_TYPES = 2;
-    private static final int Y_POS[] = new int[] {-50, 768};
-    private static final int MAX_RAND = 1000;
-
-    private static CarGenerator _instance = null;
-
-    /** Generates a single instance of CarGenerator
-     * @param gameProps An object containing all game values and graphics
-     */
-    private CarGenerator(Properties gameProps) {
-        this.GAME_PROPS = gameProps;
+    private final GameConfig CONFIG;
+    private final Camera CAMERA;
+    private final Random RAND;
+    private final Random FIREBALL_RAND;
 
-        LANES = new int[] {Integer.parseInt(GAME_PROPS.getProperty("roadLaneCenter1")),
-                Integer.parseInt(GAME_PROPS.getProperty("roadLaneCenter2")),
-                Integer.parseInt(GAME_PROPS.getProperty("roadLaneCenter3"))};
+    private final Sprite CAR_SPRITES[];
+    private final Sprite ENEMY_SPRITE;
 
+    private final ObjectPool<Car> CAR_POOL = new ObjectPool<Car>();
+    private final ObjectPool<EnemyCar> ENEMY_POOL = new ObjectPool<EnemyCar>();
+    private final ObjectPool<Fireball> FIREBALL_POOL = new ObjectPool<Fireball>();
 
-        MAX_SPEED = Integer.parseInt(GAME_PROPS.getProperty("gameObjects.otherCar.maxSpeedY"));
-        MIN_SPEED = Integer.parseInt(GAME_PROPS.getProperty("gameObjects.otherCar.minSpeedY"));
+    // positions on screen at which cars appear (above the top and at the bottom of the window)
+    private final int Y_POS[];
+    private static final int TOP_Y_POS = -50;
+    private static final int MAX_RAND = 1000;
 
-        ENEMY_MAX_SPEED = Integer.parseInt(GAME_PROPS.getProperty("gameObjects.enemyCar.maxSpeedY"));
-        ENEMY_MIN_SPEED = Integer.parseInt(GAME_PROPS.getProperty("gameObjects.enemyCar.minSpeedY"));
+    /** Constructs a CarGenerator object
+     * @param config An object containing all game values and graphics
+     * @param random The source of all randomness in the game
+     * @param camera The view in which cars are placed
+     */
+    public CarGenerator(GameConfig config, GameRandom random, Camera camera) {
+        this.CONFIG = config;
+        CAMERA = camera;
+        RAND = random.split("cars");
+        FIREBALL_RAND = random.split("fireballs");
+        Y_POS = new int[] {TOP_Y_POS, CONFIG.WINDOW_HEIGHT};
+
+        // generated cars of the same type share a graphic
+        CAR_SPRITES = CONFIG.ASSETS.OTHER_CARS;
+        ENEMY_SPRITE = CONFIG.ASSETS.ENEMY_CAR;
     }
 
 
@@ -50,22 +46,29 @@ public class CarGenerator {
      */
     public Car generateCar() {
         int rand = RAND.nextInt(MAX_RAND) + 1;
-        if (rand % CAR_DIVISOR != 0)
+        if (rand % CONFIG.OTHER_CAR.SPAWN_DIVISOR != 0)
             // do not generate new car
             return null;
 
         // get position and car type
-        int x_pos = LANES[RAND.nextInt(LANES.length)];
-        int y_pos = Y_POS[RAND.nextInt(Y_POS.length)];
-        int car_type = RAND.nextInt(CAR_TYPES) + 1;
-
-            return new Car(GAME_PROPS,
-                    new Image(String.format(GAME_PROPS.getProperty("gameObjects.otherCar.image"), car_type)),
+        int x_pos = CONFIG.getLane(RAND.nextInt(CONFIG.getLaneCount()));
+        double y_pos = CAMERA.toWorldY(Y_POS[RAND.nextInt(Y_POS.length)]);
+        int car_type = RAND.nextInt(CAR_SPRITES.length);
+
+        Car car = CAR_POOL.acquire();
+        if (car == null) {
+            return new Car(CONFIG,
+                    this,
+                    CAR_SPRITES[car_type],
                     getSpeed(false),
-                    Double.parseDouble(GAME_PROPS.getProperty("gameObjects.otherCar.radius")),
-                    Double.parseDouble(GAME_PROPS.getProperty("gameObjects.otherCar.damage")),
-                    new Point(x_pos, y_pos),
-                    Double.parseDouble(GAME_PROPS.getProperty("gameObjects.otherCar.health")));
+                    CONFIG.OTHER_CAR.RADIUS,
+                    CONFIG.OTHER_CAR.DAMAGE,
+                    x_pos,
+                    y_pos,
+                    CONFIG.OTHER_CAR.HEALTH);
+        }
+        car.reset(CAR_SPRITES[car_type], getSpeed(false), x_pos, y_pos);
+        return car;
     }
 
 
@@ -74,15 +77,86 @@ public class CarGenerator {
      */
     public Car generateEnemy() {
         int rand = RAND.nextInt(MAX_RAND) + 1;
-        if (rand % ENEMY_DIVISOR != 0)
+        if (rand % CONFIG.ENEMY_CAR.SPAWN_DIVISOR != 0)
             // do not generate new enemy car
             return null;
 
         // get position
-        int x_pos = LANES[RAND.nextInt(LANES.length)];
-        int y_pos = Y_POS[RAND.nextInt(Y_POS.length)];
+        int x_pos = CONFIG.getLane(RAND.nextInt(CONFIG.getLaneCount()));
+        double y_pos = CAMERA.toWorldY(Y_POS[RAND.nextInt(Y_POS.length)]);
+
+        EnemyCar enemy = ENEMY_POOL.acquire();
+        if (enemy == null) {
+            return new EnemyCar(CONFIG, this, ENEMY_SPRITE, getSpeed(true), x_pos, y_pos);
+        }
+        enemy.reset(ENEMY_SPRITE, getSpeed(true), x_pos, y_pos);
+        return enemy;
+    }
+
+
+    /** Randomly generates a fireball shot from the given position
+     * @param x X-coord of the enemy car shooting the fireball
+     * @param y Y-coord of the enemy car shooting the fireball
+     * @return The newly generated fireball
+     */
+    public Fireball generateFireball(double x, double y) {
+        int rand = FIREBALL_RAND.nextInt(MAX_RAND) + 1;
+        if (rand % CONFIG.FIREBALL_SPAWN_DIVISOR != 0)
+            // do not generate new fireball
+            return null;
+
+        Fireball fireball = FIREBALL_POOL.acquire();
+        if (fireball == null) {
+            return new Fireball(CONFIG, x, y);
+        }
+        fireball.reset(x, y);
+        return fireball;
+    }
 
-        return new EnemyCar(GAME_PROPS, getSpeed(true), new Point(x_pos, y_pos));
+
+    /** Takes back a car which has been removed from the game so that it can be generated
+     * again, releasing the graphics of any car which was not generated here (i.e. taxis)
+     * @param car The car removed from the game
+     */
+    public void recycle(Car car) {
+        if (car.getClass() == Car.class) {
+            CAR_POOL.release(car);
+        }
+        else if (car.getClass() == EnemyCar.class) {
+            EnemyCar enemy = (EnemyCar) car;
+            for (Fireball f: enemy.getFireballs()) {
+                FIREBALL_POOL.release(f);
+            }
+            enemy.getFireballs().clear();
+            ENEMY_POOL.release(enemy);
+        }
+        else {
+            car.retire();
+        }
+    }
+
+
+    /** Takes back a fireball which has been removed from the game so that it can be
+     * generated again
+     * @param fireball The fireball removed from the game
+     */
+    public void recycle(Fireball fireball) {
+        FIREBALL_POOL.release(fireball);
+    }
+
+
+    /** Releases the graphics of every car and fireball waiting to be reused once the game is over
+     */
+    public void retire() {
+        for (Car car: CAR_POOL.drain()) {
+            car.retire();
+        }
+        for (EnemyCar enemy: ENEMY_POOL.drain()) {
+            enemy.retire();
+        }
+        for (Fireball fireball: FIREBALL_POOL.drain()) {
+            fireball.retire();
+        }
     }
 
 
@@ -93,20 +167,15 @@ public class CarGenerator {
     public int getSpeed(boolean isEnemy) {
         if (isEnemy) {
             // allows for extensibility in the case that enemy cars have different speed range
-            return RAND.nextInt(ENEMY_MAX_SPEED - ENEMY_MIN_SPEED + 1) + ENEMY_MIN_SPEED;
+            return RAND.nextInt(CONFIG.ENEMY_CAR.MAX_SPEED_Y - CONFIG.ENEMY_CAR.MIN_SPEED_Y + 1)
+                    + CONFIG.ENEMY_CAR.MIN_SPEED_Y;
         }
-        return RAND.nextInt(MAX_SPEED - MIN_SPEED + 1) + MIN_SPEED;
+        return RAND.nextInt(CONFIG.OTHER_CAR.MAX_SPEED_Y - CONFIG.OTHER_CAR.MIN_SPEED_Y + 1)
+                + CONFIG.OTHER_CAR.MIN_SPEED_Y;
     }
 
 
-    /** Gets single instance of car generator, creating a new one if none exists     *
-     * @param gameProps An object containing all game values and graphics
-     * @return The singular instance of CarGenerator
-     */
-    public static CarGenerator getInstance(Properties gameProps) {
-        if (_instance == null) {
-            _instance = new CarGenerator(gameProps);
-        }
-        return _instance;
-    }
+    public ObjectPool<Car> getCarPool() { return CAR_POOL; }
+    public ObjectPool<EnemyCar> getEnemyPool() { return ENEMY_POOL; }
+    public ObjectPool<Fireball> getFireballPool() { return FIREBALL_POOL; }
 }
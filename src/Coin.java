@@ -1,24 +1,16 @@
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.ArrayList;
-import java.util.Properties;
-
 /** Class representing a coin game object which will increase the
  * priority of a passenger when held
  */
 public class Coin extends Powerup {
-    private ArrayList<Passenger> passengers;
+    private TripRegistry trips;
 
     /** Constructs a Coin object
-     * @param gameProps An object containing all game values and graphics
-     * @param position Initial position of the coin
+     * @param config An object containing all game values and graphics
+     * @param x Initial x-coord of the coin
+     * @param y Initial y-coord of the coin
      */
-    public Coin(Properties gameProps, Point position) {
-        super(new Image(gameProps.getProperty("gameObjects.coin.image")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.coin.radius")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.coin.maxFrames")),
-                position);
+    public Coin(GameConfig config, double x, double y) {
+        super(config.ASSETS.COIN, config.COIN.RADIUS, config.COIN.MAX_FRAMES, x, y);
     }
 
 
@@ -27,9 +19,7 @@ public class Coin extends Powerup {
     @Override
     public void collect() {
         super.collect();
-        for(Passenger p: passengers) {
-            p.getTrip().updatePriority(false, true);
-        }
+        trips.applyCoin(true);
     }
 
 
@@ -41,12 +31,10 @@ public class Coin extends Powerup {
         Powerup coin = super.reduceRemFrames();
         if (coin == null) {
             // power-up no longer active
-            for(Passenger p: passengers) {
-                p.getTrip().updatePriority(false, false);
-            }
+            trips.applyCoin(false);
         }
         return coin;
     }
 
-    public void setPassengers(ArrayList<Passenger> passengers) { this.passengers = passengers; }
+    public void setTrips(TripRegistry trips) { this.trips = trips; }
 }
@@ -1,5 +1,3 @@
-import bagel.util.Point;
-
 /** Interface representing the ability to inflict damage onto
  * other entities following a collision
  */
@@ -15,5 +13,6 @@ public interface Collidable {
      */
     void collide(Damagable entity);
 
-    Point getPosition();
+    double getX();
+    double getY();
 }
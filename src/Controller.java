@@ -0,0 +1,10 @@
+/** Interface for anything which can play the game in place of the keyboard (e.g. a script, a
+ * recording or an autopilot), choosing the keys held down in each frame
+ */
+public interface Controller {
+    /** Chooses the keys to hold down in the next frame of a game
+     * @param game The game being played, in its state before the frame
+     * @return The keys held down in the frame
+     */
+    KeyState nextInput(Game game);
+}
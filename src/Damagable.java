@@ -1,5 +1,3 @@
-import bagel.util.Point;
-
 /** Interface representing the ability to take damage and
  * die if health is below zero
  */
@@ -29,7 +27,8 @@ public interface Damagable {
 
 
     double getRadius();
-    Point getPosition();
+    double getX();
+    double getY();
     boolean isDead();
 
 }
@@ -1,16 +1,15 @@
-import bagel.Image;
-import bagel.Input;
 import bagel.Keys;
-import bagel.util.Point;
-
 import java.util.ArrayList;
 import java.util.Properties;
+import java.util.Random;
 
 /** Class which implements the driver game entity through which the game is played
  */
 public class Driver extends Person {
-    private final Properties GAME_PROPS;
+    private final GameConfig CONFIG;
     private final Properties MSG_PROPS;
+    private final Random TAXI_RAND;
+    private final HudText HEALTH_TEXT;
 
     private Coin coin;
     private InvinciblePower invincible;
@@ -26,25 +25,30 @@ public class Driver extends Person {
 
 
     /** Constructs a new Driver object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
-     * @param position The initial position of the driver
+     * @param x The initial x-coord of the driver
+     * @param y The initial y-coord of the driver
      * @param taxi The taxi entity that the driver may get in and drive
+     * @param random The source of all randomness in the game
      */
-    public Driver(Properties gameProps, Properties msgProps, Point position, Taxi taxi) {
-        super(gameProps,
+    public Driver(GameConfig config, Properties msgProps, double x, double y, Taxi taxi, GameRandom random) {
+        super(config,
                 msgProps.getProperty("gamePlay.driverHealth"),
-                Integer.parseInt(gameProps.getProperty("gamePlay.driverHealth.x")),
-                Integer.parseInt(gameProps.getProperty("gamePlay.driverHealth.y")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.driver.walkSpeedX")),
-                new Image(gameProps.getProperty("gameObjects.driver.image")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.driver.radius")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.driver.walkSpeedY")),
-                position,
-                Double.parseDouble(gameProps.getProperty("gameObjects.driver.health")));
-
-        GAME_PROPS = gameProps;
+                config.DRIVER_HEALTH_X,
+                config.DRIVER_HEALTH_Y,
+                config.DRIVER.WALK_SPEED_X,
+                config.ASSETS.DRIVER,
+                config.DRIVER.RADIUS,
+                config.DRIVER.WALK_SPEED_Y,
+                x,
+                y,
+                config.DRIVER.HEALTH);
+
+        CONFIG = config;
         MSG_PROPS = msgProps;
+        TAXI_RAND = random.split("taxis");
+        HEALTH_TEXT = new HudText(FONT, HEALTH, 2);
         this.taxi = taxi;
         this.taxi.setDriver(this);
         setVisible(true);
@@ -52,10 +56,10 @@ public class Driver extends Person {
 
 
     /** Moves driver horizontally based on arrow keys
-     * @param input The current status of the keyboard being used to control the game
+     * @param input The keys held down this frame
      */
-    void moveX(Input input) {
-        if (!isVisible() && taxi.getPosOfEffect() != null)
+    void moveX(KeyState input) {
+        if (!isVisible() && taxi.getEffectFor() > 0)
             // can't move after being hit
             return;
 
@@ -74,17 +78,17 @@ public class Driver extends Person {
 
         if (!isVisible()) {
             // move taxi with driver
-            taxi.setPosition(getPosition());
+            taxi.setPosition(getX(), getY());
         }
 
         if (passenger != null) {
             if (isVisible()) {
                 // passenger follows driver while walking
-                passenger.approach(new Point(getPosition().x - EJECT_OFFSET, getPosition().y));
+                passenger.approach(getX() - EJECT_OFFSET, getY());
             }
             else if (passenger.isCollected() && !passenger.isApproachTaxi()) {
                 // move travelling passenger with taxi
-                passenger.setPosition(getPosition());
+                passenger.setPosition(getX(), getY());
             }
         }
     }
@@ -94,7 +98,7 @@ public class Driver extends Person {
      * @param dist Amount by which x-coordinate of driver changes
      */
     public void addX(int dist) {
-        setPosition(new Point(getPosition().x + dist, getPosition().y));
+        setX(getX() + dist);
     }
 
 
@@ -102,10 +106,11 @@ public class Driver extends Person {
      * @param powerups all possible powerups to collide with
      */
     public void checkPowerups(ArrayList<Powerup> powerups) {
-        for (Powerup p: powerups) {
+        for (int i = 0; i < powerups.size(); i++) {
+            Powerup p = powerups.get(i);
             double range = RADIUS + p.RADIUS;
             // check if in pickup range
-            if (getPosition().distanceTo(p.getPosition()) < range && !p.isCollected()) {
+            if (distanceTo(p.getX(), p.getY()) < range && !p.isCollected()) {
                 // we can pick up this powerup
                 p.collect();
                 if (p instanceof Coin) {
@@ -119,12 +124,25 @@ public class Driver extends Person {
     }
 
 
-    /** Displays the driver and/or taxi and updates remaining powerup frames
+    /** Displays the driver and/or taxi
+     * @param camera The view through which the driver is seen
+     */
+    @Override
+    public void display(Camera camera) {
+        super.display(camera);
+        taxi.display(camera);
+
+        // display driver health value
+        HEALTH_TEXT.draw(getHealth(), HEALTH_X, HEALTH_Y);
+    }
+
+
+    /** Updates the driver and/or taxi and remaining powerup frames
      */
     @Override
-    public void display() {
-        super.display();
-        taxi.display();
+    public void update() {
+        super.update();
+        taxi.update();
 
         // reduce remaining frames of powerups
         if (coin != null) {
@@ -133,9 +151,6 @@ public class Driver extends Person {
         if (invincible != null) {
             invincible = (InvinciblePower) invincible.reduceRemFrames();
         }
-
-        // display driver health value
-        FONT.drawString(String.format(HEALTH + "%.2f", getHealth()), HEALTH_X, HEALTH_Y);
     }
 
 
@@ -143,10 +158,11 @@ public class Driver extends Person {
      * @param passengers list of all possible passengers to collide with
      */
     public void checkPassengers(ArrayList<Passenger> passengers) {
-        for (Passenger p: passengers) {
-            if (!isVisible() && !p.isCollected() && p.getPosition().distanceTo(getPosition()) <= p.TAXI_DETECT_RAD) {
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            if (!isVisible() && !p.isCollected() && p.distanceTo(getX(), getY()) <= p.TAXI_DETECT_RAD) {
                 // valid pick up position for passenger
-                boolean collected = p.approach(getPosition());
+                boolean collected = p.approach(getX(), getY());
                 if (collected) {
                     // passenger in taxi
                     passenger = p;
@@ -160,18 +176,28 @@ public class Driver extends Person {
 
 
 
+    /** Releases the graphics used by the driver and their current taxi once the game is over
+     */
+    @Override
+    public void retire() {
+        super.retire();
+        taxi.retire();
+    }
+
+
     /** Ejects people in taxi and generates a new one somewhere on screen
+     * @param camera The view in which the new taxi is placed
      */
-    public void newTaxi() {
-        taxi = new Taxi(GAME_PROPS, MSG_PROPS, null, this);
+    public void newTaxi(Camera camera) {
+        taxi = new Taxi(CONFIG, MSG_PROPS, TAXI_RAND, camera, this);
         if (!isVisible()) {
             // eject driver
             setVisible(true);
-            setPosition(new Point(getPosition().x - EJECT_OFFSET, getPosition().y));
+            setX(getX() - EJECT_OFFSET);
             if (passenger != null) {
                 // eject passenger
                 passenger.setVisible(true);
-                passenger.setPosition(new Point(getPosition().x - EJECT_OFFSET, getPosition().y));
+                passenger.setPosition(getX() - EJECT_OFFSET, getY());
             }
         }
     }
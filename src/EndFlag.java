@@ -1,20 +1,14 @@
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.Properties;
-
 /** Class representing a flag used to mark the end position of a trip
  */
 public class EndFlag extends GameEntity {
 
     /** Constructs an EndFlag object
-     * @param gameProps An object containing all game values and graphics
-     * @param position The initial position of the flag
+     * @param config An object containing all game values and graphics
+     * @param x The initial x-coord of the flag
+     * @param y The initial y-coord of the flag
      */
-    public EndFlag(Properties gameProps, Point position) {
-        super(new Image(gameProps.getProperty("gameObjects.tripEndFlag.image")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.tripEndFlag.radius")),
-                0, position);
+    public EndFlag(GameConfig config, double x, double y) {
+        super(config.ASSETS.END_FLAG, config.END_FLAG_RADIUS, 0, x, y);
         setVisible(false);
     }
 }
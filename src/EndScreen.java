@@ -1,7 +1,4 @@
-import bagel.Font;
-
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Properties;
 
 /*
@@ -12,44 +9,43 @@ import java.util.Properties;
  * along with leaderboard of top 5 highest scores
  */
 public class EndScreen extends Screen {
-    private final String SCORES_FILE;
+    private final Leaderboard LEADERBOARD;
 
     private final String GAME_WON;
     private final String GAME_LOST;
     private final String SCOREBOARD;
 
-    private final Font STATUS_FONT;
-    private final Font SCORE_FONT;
+    private final Typeface STATUS_FONT;
+    private final Typeface SCORE_FONT;
 
     private final int STATUS_Y;
     private final int SCORE_Y;
 
     private static final int SCORE_Y_INCR = 40;
-    private static final int MAX_SCORES = 5;
     private static final int LOSE = -1;
 
     private int status = 0;
+    private ArrayList<String> scoreLines = new ArrayList<String>();
 
     /** Constructs a new EndScreen object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param messageProps An object containing all text used in the game
+     * @param leaderboard The highest scores to be shown
      */
-    public EndScreen(Properties gameProps, Properties messageProps) {
-        super(gameProps.getProperty("backgroundImage.gameEnd"));
+    public EndScreen(GameConfig config, Properties messageProps, Leaderboard leaderboard) {
+        super(config, config.ASSETS.BACKGROUND_GAME_END);
 
-        SCORES_FILE = gameProps.getProperty("gameEnd.scoresFile");
+        LEADERBOARD = leaderboard;
 
         GAME_WON = messageProps.getProperty("gameEnd.won");
         GAME_LOST = messageProps.getProperty("gameEnd.lost");
         SCOREBOARD = messageProps.getProperty("gameEnd.highestScores");
 
-        STATUS_FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gameEnd.status.fontSize")));
-        SCORE_FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gameEnd.scores.fontSize")));
+        STATUS_FONT = config.ASSETS.STATUS_FONT.acquire();
+        SCORE_FONT = config.ASSETS.SCORES_FONT.acquire();
 
-        STATUS_Y = Integer.parseInt(gameProps.getProperty("gameEnd.status.y"));
-        SCORE_Y = Integer.parseInt(gameProps.getProperty("gameEnd.scores.y"));
+        STATUS_Y = config.STATUS_Y;
+        SCORE_Y = config.SCORES_Y;
     }
 
 
@@ -61,20 +57,12 @@ public class EndScreen extends Screen {
 
         SCORE_FONT.drawString(SCOREBOARD, centre(SCOREBOARD, SCORE_FONT), SCORE_Y);
 
-        ArrayList<Score> scores = getScores();
-
-        for (int i = 0; i < MAX_SCORES; i++) {
+        for (int i = 0; i < scoreLines.size(); i++) {
             // show each of the scores
-            try {
-                String formattedScore = String.format("%s - %.2f", scores.get(i).NAME, scores.get(i).SCORE);
-                SCORE_FONT.drawString(formattedScore,
-                        centre(formattedScore, SCORE_FONT),
-                        SCORE_Y + ((i + 1) * SCORE_Y_INCR));
-            }
-            catch (IndexOutOfBoundsException e) {
-                // no more scores to display
-                break;
-            }
+            String formattedScore = scoreLines.get(i);
+            SCORE_FONT.drawString(formattedScore,
+                    centre(formattedScore, SCORE_FONT),
+                    SCORE_Y + ((i + 1) * SCORE_Y_INCR));
         }
 
         // Show win/lose message
@@ -88,23 +76,16 @@ public class EndScreen extends Screen {
     }
 
 
-    /** Coverts stored scores from strings to Score objects
-     * @return A sorted list of all previous scores and who achieved them
+    /** Sets the result of the game which has just ended and formats the leaderboard to
+     * be shown (which must already include the score of this game)
+     * @param status The status of the game (won or lost)
      */
-    private ArrayList<Score> getScores() {
-        String[][] strScores = IOUtils.readCommaSeparatedFile(SCORES_FILE);
-
-        ArrayList<Score> scores = new ArrayList<Score>();
+    public void setStatus(int status) {
+        this.status = status;
 
-        for (String[] s: strScores) {
-            // add new score
-            scores.add(new Score(s[0], Double.parseDouble(s[1])));
+        scoreLines = new ArrayList<String>();
+        for (Score s: LEADERBOARD.getTop()) {
+            scoreLines.add(String.format("%s - %.2f", s.NAME, s.SCORE));
         }
-
-        // sort by score in descending order
-        Collections.sort(scores);
-        return scores;
     }
-
-    public void setStatus(int status) { this.status = status; }
 }
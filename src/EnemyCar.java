@@ -1,90 +1,98 @@
-import bagel.Image;
-import bagel.util.Point;
-
 import java.util.ArrayList;
-import java.util.Properties;
-import java.util.Random;
 
 /** Class representing a specific type of Car which has its own graphic
  * and ability to shoot fireballs
  */
 public class EnemyCar extends Car {
-    private final Properties GAME_PROPS;
-
     private ArrayList<Fireball> fireballs = new ArrayList<Fireball>();
 
-    private static final Random RAND = new Random();
-    private static final int FIREBALL_DIVISOR = 300;
-    private static final int MAX_RAND = 1000;
-
 
     /** Constructs an EnemyCar object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
+     * @param generator The generator which gives the car new speeds and fireballs
+     * @param sprite The graphic used to represent the enemy car
      * @param speed_Y The speed at which the car travels forward
-     * @param position The initial position of the car on screen
+     * @param x The initial x-coord of the car on screen
+     * @param y The initial y-coord of the car on screen
      */
-    public EnemyCar(Properties gameProps, int speed_Y, Point position) {
-        super(gameProps,
-                new Image(gameProps.getProperty("gameObjects.enemyCar.image")), speed_Y,
-                Double.parseDouble(gameProps.getProperty("gameObjects.enemyCar.radius")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.enemyCar.damage")),
-                position,
-                Double.parseDouble(gameProps.getProperty("gameObjects.enemyCar.health")));
-        GAME_PROPS = gameProps;
+    public EnemyCar(GameConfig config, CarGenerator generator, Sprite sprite, int speed_Y, double x, double y) {
+        super(config, generator, sprite, speed_Y, config.ENEMY_CAR.RADIUS,
+                config.ENEMY_CAR.DAMAGE, x, y, config.ENEMY_CAR.HEALTH);
     }
 
     /** Displays enemy car and associated fireballs
+     * @param camera The view through which the car is seen
      */
     @Override
-    public void display() {
-        if (isVisible())
-            // try to generate fireball
-            generateFireball();
-
+    public void display(Camera camera) {
         //display all fireballs
-        for (Fireball f: fireballs) {
-            f.display();
+        for (int i = 0; i < fireballs.size(); i++) {
+            Fireball f = fireballs.get(i);
+            f.display(camera);
         }
 
-        super.display();
+        super.display(camera);
     }
 
 
-    /** Moves enemy car and fireballs in y-direction
-     * @param increase The amount by which the player has moved forward
+    /** Keeps the current position of the enemy car and its fireballs as their positions at the
+     * previous tick
      */
     @Override
-    public void moveY(int increase) {
-        super.moveY(increase);
-
-        for (Fireball f: fireballs) {
-            f.moveY(increase - f.getSpeedY());
+    public void savePosition() {
+        super.savePosition();
+        for (int i = 0; i < fireballs.size(); i++) {
+            Fireball f = fireballs.get(i);
+            f.savePosition();
         }
     }
 
 
-    /** Randomly tries to generate new fireball
+    /** Tries to generate a fireball and updates the state of the enemy car
      */
-    private void generateFireball() {
-        int rand = RAND.nextInt(MAX_RAND) + 1;
-        if (rand % FIREBALL_DIVISOR == 0) {
-            // generate new fireball
-            fireballs.add(new Fireball(GAME_PROPS, getPosition()));
+    @Override
+    public void update() {
+        if (isVisible())
+            // try to generate fireball
+            generateFireball();
+
+        super.update();
+    }
+
+
+    /** Moves enemy car and fireballs in y-direction under their own speed
+     */
+    @Override
+    public void move() {
+        super.move();
+
+        for (int i = 0; i < fireballs.size(); i++) {
+            Fireball f = fireballs.get(i);
+            f.moveY(-f.getSpeedY());
         }
     }
 
 
-    /** Prompts collision between entity and enemy car/its fireballs if value
-     * @param entity The entity that the car might collide with
+    /** Releases the graphics used by the enemy car and its fireballs
      */
     @Override
-    public void collide(Damagable entity) {
-        // check if fireballs have collided with any entities
+    public void retire() {
+        super.retire();
         for (Fireball f: fireballs) {
-            if (entity != this)
-                // fireballs should not damage the car that shot them
-                f.collide(entity);
+            f.retire();
+        }
+    }
+
+
+    /** Randomly tries to generate new fireball
+     */
+    private void generateFireball() {
+        Fireball fireball = getGenerator().generateFireball(getX(), getY());
+        if (fireball != null) {
+            fireballs.add(fireball);
         }
-        super.collide(entity);
     }
+
+
+    public ArrayList<Fireball> getFireballs() { return fireballs; }
 }
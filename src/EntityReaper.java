@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+
+/** Class which retires cars and fireballs that have finished or left the screen so
+ * they are no longer moved, displayed or collided with, and keeps count of how
+ * many entities are live and retired (retired entities are handed back to the car
+ * generator to be reused)
+ */
+public class EntityReaper {
+    private final Camera CAMERA;
+    private final int MARGIN;
+    private final CarGenerator CAR_GEN;
+
+    private int liveCars = 0;
+    private int liveFireballs = 0;
+    private int peakCars = 0;
+    private int peakFireballs = 0;
+    private long retiredCars = 0;
+    private long retiredFireballs = 0;
+
+    /** Constructs an EntityReaper object
+     * @param camera The view showing the game window
+     * @param margin Distance an entity may travel beyond the top or bottom of the window
+     *               before it is retired
+     * @param carGen The generator which reuses retired cars and fireballs
+     */
+    public EntityReaper(Camera camera, int margin, CarGenerator carGen) {
+        CAR_GEN = carGen;
+        CAMERA = camera;
+        MARGIN = margin;
+    }
+
+
+    /** Retires all cars and fireballs which are finished or off screen
+     * @param cars All cars currently in the game
+     */
+    public void reap(ArrayList<Car> cars) {
+        int kept = 0;
+        liveFireballs = 0;
+
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            boolean firing = false;
+            if (c instanceof EnemyCar) {
+                ArrayList<Fireball> fireballs = ((EnemyCar) c).getFireballs();
+                reapFireballs(fireballs);
+                liveFireballs += fireballs.size();
+                firing = !fireballs.isEmpty();
+            }
+
+            if ((c.isFinished() || isOffScreen(c)) && !firing) {
+                // enemy cars are kept while their fireballs are still live
+                CAR_GEN.recycle(c);
+                retiredCars++;
+            }
+            else {
+                cars.set(kept++, c);
+            }
+        }
+        truncate(cars, kept);
+
+        liveCars = cars.size();
+        peakCars = Math.max(peakCars, liveCars);
+        peakFireballs = Math.max(peakFireballs, liveFireballs);
+    }
+
+
+    /** Retires fireballs which have hit something or are off screen
+     * @param fireballs All fireballs shot by an enemy car
+     */
+    private void reapFireballs(ArrayList<Fireball> fireballs) {
+        int kept = 0;
+        for (int i = 0; i < fireballs.size(); i++) {
+            Fireball f = fireballs.get(i);
+            if (!f.isVisible() || isOffScreen(f)) {
+                CAR_GEN.recycle(f);
+                retiredFireballs++;
+            }
+            else {
+                fireballs.set(kept++, f);
+            }
+        }
+        truncate(fireballs, kept);
+    }
+
+
+    /** Checks if an entity has travelled too far beyond the top or bottom of the window
+     * @param entity The entity to check
+     * @return Flag indicating the entity is off screen
+     */
+    private boolean isOffScreen(GameEntity entity) {
+        return entity.getY() < CAMERA.getTop() - MARGIN || entity.getY() > CAMERA.getBottom() + MARGIN;
+    }
+
+
+    /** Removes all elements of a list from the given index onwards, without allocating (unlike
+     * subList().clear()), so that lists compacted every frame can be cut short on the hot path
+     * @param list The list to cut short
+     * @param size The number of elements to keep
+     */
+    public static <T> void truncate(ArrayList<T> list, int size) {
+        while (list.size() > size) {
+            list.remove(list.size() - 1);
+        }
+    }
+
+    public int getLiveCars() { return liveCars; }
+    public int getLiveFireballs() { return liveFireballs; }
+    public int getPeakCars() { return peakCars; }
+    public int getPeakFireballs() { return peakFireballs; }
+    public long getRetiredCars() { return retiredCars; }
+    public long getRetiredFireballs() { return retiredFireballs; }
+}
@@ -1,8 +1,3 @@
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.Properties;
-
 /** Class representing a game entity shot by enemy cars which can
  * deal damage
  */
@@ -11,15 +6,25 @@ public class Fireball extends GameEntity implements Collidable {
     private static final int DOUBLE_MULT = 100;
 
     /** Constructs a Fireball object
-     * @param gameProps An object containing all game values and graphics
-     * @param position The initial position of the fireball on screen
+     * @param config An object containing all game values and graphics
+     * @param x The initial x-coord of the fireball on screen
+     * @param y The initial y-coord of the fireball on screen
      */
-    public Fireball(Properties gameProps, Point position) {
-        super(new Image(gameProps.getProperty("gameObjects.fireball.image")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.fireball.radius")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.fireball.shootSpeedY")), position);
+    public Fireball(GameConfig config, double x, double y) {
+        super(config.ASSETS.FIREBALL, config.FIREBALL_RADIUS, config.FIREBALL_SPEED_Y, x, y);
+
+        DAMAGE = config.FIREBALL_DAMAGE * DOUBLE_MULT;
+    }
+
 
-        DAMAGE = Double.parseDouble(gameProps.getProperty("gameObjects.fireball.damage")) * DOUBLE_MULT;
+    /** Restores the fireball to the state of a newly shot fireball so that it can be reused
+     * @param x The initial x-coord of the fireball on screen
+     * @param y The initial y-coord of the fireball on screen
+     */
+    public void reset(double x, double y) {
+        setPosition(x, y);
+        savePosition();
+        setVisible(true);
     }
 
 
@@ -35,7 +40,7 @@ public class Fireball extends GameEntity implements Collidable {
 
         // check if close enough to collide
         double collisionDistance = RADIUS + entity.getRadius();
-        return getPosition().distanceTo(entity.getPosition()) <= collisionDistance;
+        return distanceTo(entity.getX(), entity.getY()) <= collisionDistance;
     }
 
 
@@ -0,0 +1,59 @@
+/** Class which decides how many fixed length ticks of the game are due each time a frame is
+ * drawn, so that the game runs at the same speed however often frames are drawn
+ * Time which has passed but is not yet a whole tick is carried over to the next frame, and is
+ * used to draw the frame part way between the last two ticks
+ */
+public class FixedTimestep {
+    private final long TICK_NANOS;
+    private final int MAX_TICKS;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private boolean started = false;
+    private long lastTime;
+    // time passed which has not yet been simulated
+    private long accumulated = 0;
+
+    /** Constructs a FixedTimestep object
+     * @param tickRate The number of ticks per second
+     * @param maxTicks The most ticks run for a single frame, after which the game is allowed
+     *                 to fall behind rather than spending ever longer catching up
+     */
+    public FixedTimestep(int tickRate, int maxTicks) {
+        TICK_NANOS = Math.round(NANOS_PER_SECOND / tickRate);
+        MAX_TICKS = maxTicks;
+    }
+
+
+    /** Adds the time passed since the last frame and takes the ticks which are now due
+     * @param now The current time in nanoseconds (e.g. from System.nanoTime)
+     * @return The number of ticks to run before drawing the frame
+     */
+    public int advance(long now) {
+        if (!started) {
+            // the first frame shows the first tick
+            started = true;
+            accumulated = TICK_NANOS;
+        }
+        else {
+            accumulated += Math.max(0, now - lastTime);
+        }
+        lastTime = now;
+
+        int ticks = (int) Math.min(accumulated / TICK_NANOS, MAX_TICKS);
+        accumulated -= ticks * TICK_NANOS;
+        if (accumulated >= TICK_NANOS) {
+            // too far behind to catch up, drop the time which could not be simulated
+            accumulated %= TICK_NANOS;
+        }
+        return ticks;
+    }
+
+
+    /** Gets how far the time passed is between the last tick and the next
+     * @return A fraction from 0 (at the last tick) up to 1 (at the next tick)
+     */
+    public double getBlend() {
+        return (double) accumulated / TICK_NANOS;
+    }
+}
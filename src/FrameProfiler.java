@@ -0,0 +1,312 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/** Class which times each phase of every frame of a game into fixed size histograms, along with
+ * the number of entities in the frame, so that slow frames can be found on real machines
+ * Recording a frame does not allocate, and does nothing when the profiler is disabled
+ */
+public class FrameProfiler {
+    // phases of a frame, in the order they happen
+    public static final int SPAWN = 0;
+    public static final int MOVEMENT = 1;
+    public static final int PASSENGERS = 2;
+    public static final int POWERUPS = 3;
+    public static final int COLLISIONS = 4;
+    public static final int UPDATE = 5;
+    public static final int REAP = 6;
+    public static final int RENDER = 7;
+    private static final String[] PHASE_NAMES = new String[] {
+            "spawn", "movement", "passengers", "powerups", "collisions", "update", "reap", "render"};
+    private static final int PHASES = PHASE_NAMES.length;
+
+    // number of slowest frames kept with their full breakdown
+    private static final int SLOW_FRAMES = 10;
+
+    private static final int OVERLAY_INTERVAL = 30;
+    private static final int OVERLAY_X = 10;
+    private static final int OVERLAY_LINE_HEIGHT = 16;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    private final boolean ENABLED;
+    private final boolean OVERLAY;
+    private final int WINDOW_HEIGHT;
+    private final Typeface FONT;
+
+    private final Histogram[] PHASE_TIMES = new Histogram[PHASES];
+    private final Histogram FRAME_TIMES = new Histogram();
+    private final Histogram ENTITIES = new Histogram();
+
+    // current frame
+    private boolean inFrame = false;
+    private long frameStart;
+    private long phaseStart;
+    private final long[] CURRENT = new long[PHASES];
+    private long frames = 0;
+
+    // slowest frames: frame number, entity count, total time then the time of each phase
+    private final long[][] SLOWEST = new long[SLOW_FRAMES][PHASES + 3];
+    private int slowCount = 0;
+
+    private final String[] OVERLAY_LINES = new String[PHASES + 1];
+
+    /** Constructs a FrameProfiler object
+     * @param config An object containing all game values and graphics
+     */
+    public FrameProfiler(GameConfig config) {
+        OVERLAY = config.PROFILE_OVERLAY;
+        ENABLED = OVERLAY || config.PROFILE_FILE != null;
+        WINDOW_HEIGHT = config.WINDOW_HEIGHT;
+        FONT = OVERLAY ? config.ASSETS.PASSENGER_FONT.acquire() : null;
+
+        for (int i = 0; i < PHASES; i++) {
+            PHASE_TIMES[i] = new Histogram();
+        }
+    }
+
+
+    /** Starts timing a frame
+     */
+    public void startFrame() {
+        if (!ENABLED) {
+            return;
+        }
+        inFrame = true;
+        Arrays.fill(CURRENT, 0);
+        frameStart = System.nanoTime();
+        phaseStart = frameStart;
+    }
+
+
+    /** Ends a phase of the current frame, adding the time since the last phase ended
+     * @param phase The phase which has just finished
+     */
+    public void mark(int phase) {
+        if (!inFrame) {
+            return;
+        }
+        long now = System.nanoTime();
+        CURRENT[phase] += now - phaseStart;
+        phaseStart = now;
+    }
+
+
+    /** Finishes timing the current frame and records it
+     * @param entities The number of entities in the game this frame
+     */
+    public void endFrame(int entities) {
+        if (!inFrame) {
+            return;
+        }
+        inFrame = false;
+        long total = System.nanoTime() - frameStart;
+        frames++;
+
+        for (int i = 0; i < PHASES; i++) {
+            PHASE_TIMES[i].record(CURRENT[i]);
+        }
+        FRAME_TIMES.record(total);
+        ENTITIES.record(entities);
+        keepIfSlow(total, entities);
+
+        if (OVERLAY && frames % OVERLAY_INTERVAL == 1) {
+            updateOverlay(total);
+        }
+    }
+
+
+    /** Keeps the breakdown of the current frame if it is one of the slowest so far
+     */
+    private void keepIfSlow(long total, int entities) {
+        int slot = slowCount;
+        if (slowCount == SLOW_FRAMES) {
+            // replace the fastest of the kept frames
+            slot = 0;
+            for (int i = 1; i < SLOW_FRAMES; i++) {
+                if (SLOWEST[i][2] < SLOWEST[slot][2]) {
+                    slot = i;
+                }
+            }
+            if (SLOWEST[slot][2] >= total) {
+                return;
+            }
+        }
+        else {
+            slowCount++;
+        }
+
+        long[] frame = SLOWEST[slot];
+        frame[0] = frames;
+        frame[1] = entities;
+        frame[2] = total;
+        System.arraycopy(CURRENT, 0, frame, 3, PHASES);
+    }
+
+
+    /** Rebuilds the overlay text from the latest frame and the 99th percentiles so far
+     */
+    private void updateOverlay(long total) {
+        for (int i = 0; i < PHASES; i++) {
+            OVERLAY_LINES[i] = String.format("%-10s %6.2fms  p99 %6.2fms", PHASE_NAMES[i],
+                    CURRENT[i] / NANOS_PER_MILLI, PHASE_TIMES[i].percentile(0.99) / NANOS_PER_MILLI);
+        }
+        OVERLAY_LINES[PHASES] = String.format("%-10s %6.2fms  p99 %6.2fms", "frame",
+                total / NANOS_PER_MILLI, FRAME_TIMES.percentile(0.99) / NANOS_PER_MILLI);
+    }
+
+
+    /** Draws the latest phase timings in the bottom left of the window, if the overlay is on
+     */
+    public void displayOverlay() {
+        if (!OVERLAY || OVERLAY_LINES[0] == null) {
+            return;
+        }
+        double y = WINDOW_HEIGHT - OVERLAY_LINE_HEIGHT * (OVERLAY_LINES.length - 1) - OVERLAY_X;
+        for (String line: OVERLAY_LINES) {
+            FONT.drawString(line, OVERLAY_X, y);
+            y += OVERLAY_LINE_HEIGHT;
+        }
+    }
+
+
+    /** Releases the overlay font once the game is over
+     */
+    public void release() {
+        if (OVERLAY) {
+            FONT.release();
+        }
+    }
+
+
+    /** Writes the percentiles of every phase and the slowest frames to a file
+     * @param file The path of the file
+     * @throws IOException If the file could not be written
+     */
+    public void writeReport(String file) throws IOException {
+        if (!ENABLED) {
+            return;
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file)))) {
+            out.printf("frames %d%n%n", frames);
+            out.printf("%-12s %10s %10s %10s %10s%n", "phase (us)", "mean", "p50", "p99", "max");
+            for (int i = 0; i < PHASES; i++) {
+                writeTimes(out, PHASE_NAMES[i], PHASE_TIMES[i]);
+            }
+            writeTimes(out, "frame", FRAME_TIMES);
+
+            out.printf("%n%-12s %10s %10s %10s %10s%n", "", "mean", "p50", "p99", "max");
+            out.printf("%-12s %10.1f %10d %10d %10d%n", "entities", ENTITIES.mean(),
+                    ENTITIES.percentile(0.5), ENTITIES.percentile(0.99), ENTITIES.max());
+
+            out.printf("%nslowest frames (us)%n%-8s %8s %10s", "frame", "entities", "total");
+            for (String name: PHASE_NAMES) {
+                out.printf(" %10s", name);
+            }
+            out.println();
+
+            long[][] slowest = Arrays.copyOf(SLOWEST, slowCount);
+            Arrays.sort(slowest, (f1, f2) -> Long.compare(f2[2], f1[2]));
+            for (long[] frame: slowest) {
+                out.printf("%-8d %8d %10.1f", frame[0], frame[1], frame[2] / NANOS_PER_MICRO);
+                for (int i = 0; i < PHASES; i++) {
+                    out.printf(" %10.1f", frame[i + 3] / NANOS_PER_MICRO);
+                }
+                out.println();
+            }
+        }
+    }
+
+
+    /** Writes one row of timings to the report
+     */
+    private static void writeTimes(PrintWriter out, String name, Histogram times) {
+        out.printf("%-12s %10.1f %10.1f %10.1f %10.1f%n", name, times.mean() / NANOS_PER_MICRO,
+                times.percentile(0.5) / NANOS_PER_MICRO, times.percentile(0.99) / NANOS_PER_MICRO,
+                times.max() / NANOS_PER_MICRO);
+    }
+
+
+    /** Gets the given percentile of the time spent in a phase
+     * @param phase The phase
+     * @param fraction The percentile as a fraction (e.g. 0.99)
+     * @return The time in nanoseconds
+     */
+    public long getPercentile(int phase, double fraction) {
+        return PHASE_TIMES[phase].percentile(fraction);
+    }
+
+    public boolean isEnabled() { return ENABLED; }
+    public long getFrames() { return frames; }
+
+
+    /** Class which counts values in a fixed number of buckets whose width grows with the value,
+     * so that every value is recorded to within about 6% of its size
+     */
+    private static class Histogram {
+        // each power of two is split into 2^SUB_BITS buckets
+        private static final int SUB_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        private static final int MAX_BITS = 48;
+        private static final int BUCKETS = (MAX_BITS - SUB_BITS + 1) * SUB_BUCKETS;
+
+        private final long[] COUNTS = new long[BUCKETS];
+        private long count = 0;
+        private long sum = 0;
+        private long max = 0;
+
+        private void record(long value) {
+            value = Math.max(0, value);
+            COUNTS[bucket(value)]++;
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        /** Finds the bucket holding a value
+         */
+        private static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_BITS);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return Math.min((exponent - SUB_BITS + 1) * SUB_BUCKETS + sub, BUCKETS - 1);
+        }
+
+        /** Finds the largest value which falls in a bucket
+         */
+        private static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+        }
+
+        private long percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += COUNTS[i];
+                if (seen >= rank && COUNTS[i] > 0) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        private double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        private long max() { return max; }
+    }
+}
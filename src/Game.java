@@ -1,19 +1,30 @@
-import bagel.*;
-import bagel.util.Point;
-
+import bagel.Keys;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Properties;
 
 /** Class allowing for the implementation of the playable component of game
  */
 public class Game {
-    private final Properties GAME_PROPS;
+    private final GameConfig CONFIG;
     private final Properties MSG_PROPS;
 
+    private final GameRandom RANDOM;
+    private final Camera CAMERA;
     private final CarGenerator CAR_GEN;
-
-    private final Font FONT;
+    private final SpatialGrid GRID = new SpatialGrid(COLLISION_CELL_SIZE);
+    private final EntityReaper REAPER;
+    private final FrameProfiler PROFILER;
+    private final FixedTimestep TIMESTEP;
+    private final QualityGovernor QUALITY;
+    private final boolean HEADLESS;
+
+    private final Typeface FONT;
+    private final String TARGET_TEXT;
+    private final HudText EARNINGS_TEXT;
+    private final HudText FRAMES_TEXT;
+    private final HudText COIN_TEXT;
+    private final HudText PASSENGER_HEALTH_TEXT;
     private final double TARGET;
     private final int MAX_FRAMES;
     private final int COIN_MAX;
@@ -26,17 +37,33 @@ public class Game {
     private final int TARGET_Y;
     private final int FRAMES_X;
     private final int FRAMES_Y;
+    private final int QUALITY_X;
+    private final int QUALITY_Y;
+    private final int WINDOW_HEIGHT;
+    private final int ACTIVATION_MARGIN;
 
     private Background background;
-    private ArrayList<Weather> weather;
+    private WeatherTimeline weather;
+    private boolean raining;
 
     // game status
-    private final int WIN = 1;
-    private final int LOSE = -1;
-    private final int PLAY = 0;
+    public static final int WIN = 1;
+    public static final int LOSE = -1;
+    public static final int PLAY = 0;
+
+    // reasons a game can be lost
+    public static final int NOT_LOST = 0;
+    public static final int PASSENGER_DIED = 1;
+    public static final int LEFT_SCREEN = 2;
+    public static final int DRIVER_DIED = 3;
+    public static final int OUT_OF_TIME = 4;
+
+    // width and height of the cells used to find nearby entities for collisions
+    private static final double COLLISION_CELL_SIZE = 64;
 
     private int framesLeft;
     private double totalEarnings = 0;
+    private int lossCause = NOT_LOST;
 
     // game objects
     private Driver driver;
@@ -44,161 +71,411 @@ public class Game {
     private ArrayList<Passenger> passengers;
     private ArrayList<Car> cars = new ArrayList<Car>();
 
+    // level objects which have not come into view yet
+    private final SpawnQueue SPAWNS;
+
+    // passengers who have not arrived, by health
+    private final HealthTracker HEALTH_TRACKER = new HealthTracker();
+    // lowest health of the passengers left waiting off screen, whose health can no longer change
+    private double retiredMinHealth = Double.POSITIVE_INFINITY;
+
+    // trips whose priority may still change
+    private final TripRegistry TRIPS = new TripRegistry();
+
     // trip details to be shown on screen
     private Trip trip = null;
 
 
+    /** Constructs a Game object which is displayed in the game window
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     */
+    public Game(GameConfig config, Properties msgProps) {
+        this(config, msgProps, false);
+    }
+
+
     /** Constructs a Game object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
+     * @param headless Flag indicating the game is simulated without a window, so nothing
+     *                 is drawn
      */
-    public Game(Properties gameProps, Properties msgProps) {
-        GAME_PROPS = gameProps;
-        MSG_PROPS = msgProps;
+    public Game(GameConfig config, Properties msgProps, boolean headless) {
+        this(config, msgProps, headless, config.SEED != null ? config.SEED : GameRandom.newSeed());
+    }
 
-        CAR_GEN = CarGenerator.getInstance(GAME_PROPS);
 
-        FONT = new Font(GAME_PROPS.getProperty("font"),
-                Integer.parseInt(GAME_PROPS.getProperty("gamePlay.info.fontSize")));
+    /** Constructs a Game object which plays out the same way every time it is given the
+     * same seed and input
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @param headless Flag indicating the game is simulated without a window, so nothing
+     *                 is drawn
+     * @param seed The seed from which all randomness in the game is generated
+     */
+    public Game(GameConfig config, Properties msgProps, boolean headless, long seed) {
+        this(config, msgProps, headless, seed, loadLevel(config));
+    }
 
-        TARGET = Double.parseDouble(GAME_PROPS.getProperty("gamePlay.target"));
-        MAX_FRAMES = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.maxFrames"));
-        COIN_MAX = Integer.parseInt(GAME_PROPS.getProperty("gameObjects.coin.maxFrames"));
 
-        EARNINGS_X = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.earnings.x"));
-        EARNINGS_Y = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.earnings.y"));
-        COIN_X = Integer.parseInt(GAME_PROPS.getProperty("gameplay.coin.x"));
-        COIN_Y = Integer.parseInt(GAME_PROPS.getProperty("gameplay.coin.y"));
-        TARGET_X = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.target.x"));
-        TARGET_Y = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.target.y"));
-        FRAMES_X = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.maxFrames.x"));
-        FRAMES_Y = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.maxFrames.y"));
+    /** Constructs a Game object on a level which has already been loaded, so that many games
+     * can be played without reading the level files again
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @param headless Flag indicating the game is simulated without a window, so nothing
+     *                 is drawn
+     * @param seed The seed from which all randomness in the game is generated
+     * @param level The objects and weather of the level
+     */
+    public Game(GameConfig config, Properties msgProps, boolean headless, long seed, Level level) {
+        CONFIG = config;
+        MSG_PROPS = msgProps;
+        HEADLESS = headless;
+
+        RANDOM = new GameRandom(seed);
+        CAMERA = new Camera(CONFIG.WINDOW_HEIGHT);
+        CAR_GEN = new CarGenerator(CONFIG, RANDOM, CAMERA);
+
+        FONT = CONFIG.ASSETS.INFO_FONT.acquire();
+        TARGET_TEXT = MSG_PROPS.getProperty("gamePlay.target") + CONFIG.TARGET;
+        EARNINGS_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.earnings"), 2);
+        FRAMES_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.remFrames"), 0);
+        COIN_TEXT = new HudText(FONT, "", 0);
+        PASSENGER_HEALTH_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.passengerHealth"), 1);
+
+        TARGET = CONFIG.TARGET;
+        MAX_FRAMES = CONFIG.MAX_FRAMES;
+        COIN_MAX = CONFIG.COIN.MAX_FRAMES;
+
+        EARNINGS_X = CONFIG.EARNINGS_X;
+        EARNINGS_Y = CONFIG.EARNINGS_Y;
+        COIN_X = CONFIG.COIN_X;
+        COIN_Y = CONFIG.COIN_Y;
+        TARGET_X = CONFIG.TARGET_X;
+        TARGET_Y = CONFIG.TARGET_Y;
+        FRAMES_X = CONFIG.MAX_FRAMES_X;
+        FRAMES_Y = CONFIG.MAX_FRAMES_Y;
+        QUALITY_X = CONFIG.QUALITY_X;
+        QUALITY_Y = CONFIG.QUALITY_Y;
+        WINDOW_HEIGHT = CONFIG.WINDOW_HEIGHT;
+        ACTIVATION_MARGIN = CONFIG.ACTIVATION_MARGIN;
+
+        REAPER = new EntityReaper(CAMERA, CONFIG.RETIRE_MARGIN, CAR_GEN);
+        PROFILER = new FrameProfiler(CONFIG);
+        TIMESTEP = new FixedTimestep(CONFIG.TICK_RATE, CONFIG.MAX_TICKS_PER_FRAME);
+        QUALITY = new QualityGovernor(CONFIG, MSG_PROPS.getProperty("gamePlay.quality"));
 
         framesLeft = MAX_FRAMES;
 
-        // read in game data
-        parseWeather();
-        parseObjects();
+        SPAWNS = level.newSpawnQueue();
+        startWeather(level);
+        startObjects(level);
+    }
+
+
+    /** Reads in the level named in the game values, exiting if it cannot be read
+     */
+    private static Level loadLevel(GameConfig config) {
+        try {
+            return Level.load(config);
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+            return null;
+        }
+    }
+
+
+    /** Controls the flow of the game through keyboard input, playing a single tick per frame
+     * @param input The keys held down this frame
+     * @return The status of gameplay dependent on if a win, loss or neither has occured
+     */
+    public int playGame(KeyState input) {
+        PROFILER.startFrame();
+        int status = tick(input);
+
+        if (!HEADLESS) {
+            render();
+        }
+        PROFILER.mark(FrameProfiler.RENDER);
+        PROFILER.endFrame(countEntities());
+
+        return status;
+    }
+
+
+    /** Plays every tick which has become due since the last frame was drawn, then draws the
+     * game part way between the last two ticks, so the game runs at the tick rate whatever the
+     * frame rate of the window
+     * The time the frame takes decides how much optional detail the next frame draws
+     * @param controller Chooses the keys held down in each tick
+     * @param now The current time in nanoseconds (e.g. from System.nanoTime)
+     * @return The status of gameplay dependent on if a win, loss or neither has occured
+     */
+    public int playFrame(Controller controller, long now) {
+        long start = System.nanoTime();
+        PROFILER.startFrame();
+        int ticks = TIMESTEP.advance(now);
+        int status = checkStatus();
+        for (int i = 0; i < ticks && status == PLAY; i++) {
+            status = tick(controller.nextInput(this));
+        }
+
+        CAMERA.setBlend(TIMESTEP.getBlend());
+        render();
+        PROFILER.mark(FrameProfiler.RENDER);
+        PROFILER.endFrame(countEntities());
+
+        CAMERA.setQuality(QUALITY.record(System.nanoTime() - start));
+
+        return status;
+    }
+
+
+    /** Advances the game by a single tick without drawing anything
+     * @param input The keys held down this tick
+     * @return The status of gameplay dependent on if a win, loss or neither has occured
+     */
+    public int tick(KeyState input) {
+        update(input);
+        return checkStatus();
     }
 
 
-    /** Controls the flow of the game through keyboard input
-     * @param input The current status of the keyboard being used to control the game
-     * @param name The user-entered name of the current player
+    /** Plays a frame of the game with the keys chosen by a controller rather than a player
+     * @param controller The controller playing the game
      * @return The status of gameplay dependent on if a win, loss or neither has occured
      */
-    public int playGame(Input input, String name) {
+    public int playGame(Controller controller) {
+        return playGame(controller.nextInput(this));
+    }
+
+
+    /** Advances the state of all game elements by one frame without drawing anything
+     * @param input The keys held down this frame
+     */
+    public void update(KeyState input) {
+        if (!HEADLESS) {
+            savePositions();
+        }
         framesLeft--;
         addCars();
 
         // check for a change in weather
-        if (!weather.isEmpty() && MAX_FRAMES - framesLeft >= weather.get(0).START) {
-            String next = weather.remove(0).WEATHER;
-            background.changeWeather(next.equals("RAINING"));
-            for(Passenger p: passengers) {
-                // change priority of passengers without umbrella
-                p.getTrip().updatePriority(true, next.equals("RAINING"));
-            }
+        boolean nowRaining = weather.isRaining(MAX_FRAMES - framesLeft);
+        if (nowRaining != raining) {
+            raining = nowRaining;
+            background.changeWeather(raining);
+            // change priority of passengers without umbrella
+            TRIPS.applyWeather(raining);
         }
+        PROFILER.mark(FrameProfiler.SPAWN);
 
         // use keys to move player
         moveForward(input);
         driver.moveX(input);
+        PROFILER.mark(FrameProfiler.MOVEMENT);
+        spawnObjects();
+        PROFILER.mark(FrameProfiler.SPAWN);
 
         // check if game objects can interact
         checkPassenger(input);
+        PROFILER.mark(FrameProfiler.PASSENGERS);
         driver.checkPowerups(powerups);
+        PROFILER.mark(FrameProfiler.POWERUPS);
         checkAllCollisions();
+        PROFILER.mark(FrameProfiler.COLLISIONS);
+
+        // update timers and effects of all game elements
+        updateObjects();
+        PROFILER.mark(FrameProfiler.UPDATE);
+
+        // stop tracking finished and off screen cars/fireballs
+        REAPER.reap(cars);
+        retireObjects();
+        PROFILER.mark(FrameProfiler.REAP);
+
+        // get last/current trip information
+        trip = driver.getLastTrip();
+    }
 
 
-        // display all game elements
-        background.display();
+    /** Displays all game elements in their current state
+     */
+    public void render() {
+        background.display(CAMERA);
         displayInfo();
         displayObjects();
+        PROFILER.displayOverlay();
+    }
 
 
-        int status = checkStatus();
-        if (status != PLAY) {
-            // game over, write name and score to file
-            IOUtils.writeScoreToFile(GAME_PROPS.getProperty("gameEnd.scoresFile"),
-                    String.format("%s, %f", name, totalEarnings));
+    /** Keeps the position of the camera and every moving entity before a tick moves them, so
+     * that frames can be drawn between ticks
+     */
+    private void savePositions() {
+        CAMERA.savePosition();
+        driver.savePosition();
+        driver.getTaxi().savePosition();
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            p.savePosition();
+        }
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            c.savePosition();
         }
-        return status;
     }
 
 
-    /** Reads in game objects from CSV
+    /** Counts the entities which are live in the game
      */
-    private void parseObjects() {
-        String[][] objects = IOUtils.readCommaSeparatedFile(GAME_PROPS.getProperty("gamePlay.objectsFile"));
-        int objectCount = objects.length;
+    private int countEntities() {
+        // driver and taxi, then all other entities
+        return 2 + cars.size() + REAPER.getLiveFireballs() + passengers.size() + powerups.size();
+    }
 
+
+    /** Places the taxi and driver at the start of the level and adds the objects already in view
+     */
+    private void startObjects(Level level) {
         powerups = new ArrayList<Powerup>();
         passengers = new ArrayList<Passenger>();
 
         Taxi taxi = null;
-        Point driverPos = null;
+        if (level.hasTaxi()) {
+            taxi = new Taxi(CONFIG, MSG_PROPS, level.getTaxiX(), level.getTaxiY(), null);
+        }
+        // add driver
+        driver = new Driver(CONFIG, MSG_PROPS, level.getDriverX(), level.getDriverY(), taxi, RANDOM);
+
+        // add objects which are already in view
+        spawnObjects();
+    }
 
-        for (int i = 0; i < objectCount; i++) {
-            if (objects[i][0].equals("DRIVER")) {
-                // get driver details -  to be added after taxi added
-                driverPos = new Point(Double.parseDouble(objects[i][1]), Double.parseDouble(objects[i][2]));
+
+    /** Turns level objects which have come within the activation margin above the window
+     * into live game objects
+     */
+    private void spawnObjects() {
+        while (SPAWNS.next(CAMERA.getTop() - ACTIVATION_MARGIN)) {
+            double x = SPAWNS.getX();
+            double y = SPAWNS.getY();
+
+            if (SPAWNS.getType() == LevelReader.Type.COIN) {
+                Coin coin = new Coin(CONFIG, x, y);
+                coin.setTrips(TRIPS);
+                powerups.add(coin);
             }
+            else if (SPAWNS.getType() == LevelReader.Type.INVINCIBLE_POWER) {
+                powerups.add(new InvinciblePower(CONFIG, x, y));
+            }
+            else {
+                Trip trip = new Trip(CONFIG, MSG_PROPS, y, SPAWNS.getPriority(), SPAWNS.getEndX(),
+                        SPAWNS.getDistY(), SPAWNS.hasUmbrella());
 
-            if (objects[i][0].equals("TAXI")) {
-                // add taxi
-                taxi = new Taxi(GAME_PROPS, MSG_PROPS,
-                        new Point(Double.parseDouble(objects[i][1]), Double.parseDouble(objects[i][2])),
-                        null);
+                // apply the weather and any coin already in effect
+                if (raining) {
+                    trip.updatePriority(true, true);
+                }
+                if (driver.getCoin() != null) {
+                    trip.updatePriority(false, true);
+                }
+                Passenger passenger = new Passenger(CONFIG, MSG_PROPS, x, y, trip);
+                passengers.add(passenger);
+                HEALTH_TRACKER.add(passenger);
+                TRIPS.add(trip);
             }
+        }
+    }
+
 
-            if (objects[i][0].equals("COIN")) {
-                // add coins
-                powerups.add(new Coin(GAME_PROPS,
-                        new Point(Double.parseDouble(objects[i][1]), Double.parseDouble(objects[i][2]))));
+    /** Stops tracking level objects which have passed the activation margin below the window
+     * and can no longer affect the game
+     */
+    private void retireObjects() {
+        double maxY = CAMERA.getBottom() + ACTIVATION_MARGIN;
+
+        int kept = 0;
+        for (int i = 0; i < powerups.size(); i++) {
+            Powerup p = powerups.get(i);
+            if (p.getY() <= maxY) {
+                powerups.set(kept++, p);
+            }
+            else {
+                p.retire();
             }
-            else if (objects[i][0].equals("INVINCIBLE_POWER")) {
-                // add invincible powers
-                powerups.add(new InvinciblePower(GAME_PROPS,
-                        new Point(Double.parseDouble(objects[i][1]), Double.parseDouble(objects[i][2]))));
+        }
+        EntityReaper.truncate(powerups, kept);
+
+        kept = 0;
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            // keep passengers on a trip or dying, as they still affect the game
+            boolean outOfTaxi = !p.isCollected() || p.hasArrived();
+            if (p.getY() <= maxY || !outOfTaxi || p.isDead() || p == driver.getPassenger()) {
+                passengers.set(kept++, p);
             }
-            else if (objects[i][0].equals("PASSENGER")) {
-                // add passengers
-                Point pos = new Point(Double.parseDouble(objects[i][1]), Double.parseDouble(objects[i][2]));
-                Trip trip = new Trip(GAME_PROPS, MSG_PROPS, pos, Integer.parseInt(objects[i][3]),
-                        Integer.parseInt(objects[i][4]), Integer.parseInt(objects[i][5]),
-                        Boolean.parseBoolean(objects[i][6]));
-                passengers.add(new Passenger(GAME_PROPS, MSG_PROPS, pos, trip));
+            else {
+                // the lowest health shown still counts passengers left waiting
+                if (!p.hasArrived()) {
+                    retiredMinHealth = Math.min(retiredMinHealth, p.getHealth());
+                }
+                HEALTH_TRACKER.remove(p);
+                TRIPS.remove(p.getTrip());
+                p.retire();
             }
         }
+        EntityReaper.truncate(passengers, kept);
+    }
 
-        // add driver
-        driver = new Driver(GAME_PROPS, MSG_PROPS, driverPos, taxi);
 
-        // give coins information about passengers
+    /** Releases the graphics and fonts used by the game and everything left in it once the game
+     * is over (the game must not be played or drawn afterwards)
+     */
+    public void release() {
         for (Powerup p: powerups) {
-            if (p instanceof Coin)
-                ((Coin) p).setPassengers(passengers);
+            p.retire();
+        }
+        for (Passenger p: passengers) {
+            p.retire();
+        }
+        driver.retire();
+        for (Car c: cars) {
+            c.retire();
         }
+        CAR_GEN.retire();
+
+        background.release();
+        FONT.release();
+        PROFILER.release();
     }
 
 
-    /** Read in weather as usable Weather objects from csv
+    /** Starts the weather of the level
      */
-    private void parseWeather() {
-        String[][] strWeather = IOUtils.readCommaSeparatedFile(GAME_PROPS.getProperty("gamePlay.weatherFile"));
+    private void startWeather(Level level) {
+        weather = level.getWeather();
+        raining = weather.isRaining(0);
+        background = new Background(CONFIG, weather.getWeather(0));
+    }
 
-        weather = new ArrayList<Weather>();
 
-        for (String[] w: strWeather) {
-            // add weather event
-            weather.add(new Weather(w[0], Integer.parseInt(w[1]), Integer.parseInt(w[2])));
+    /** Update timers and effects of game objects
+     */
+    private void updateObjects() {
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            p.update();
         }
 
-        // sort by start in ascending order
-        Collections.sort(weather);
+        driver.update();
 
-        background = new Background(GAME_PROPS, weather.remove(0));
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            c.update();
+        }
     }
 
 
@@ -206,27 +483,30 @@ public class Game {
      */
     private void displayObjects() {
 
-        for (Powerup p: powerups) {
-            p.display();
+        for (int i = 0; i < powerups.size(); i++) {
+            Powerup p = powerups.get(i);
+            p.display(CAMERA);
         }
 
-        for (Passenger p: passengers) {
-            p.display();
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            p.display(CAMERA);
         }
 
-        driver.display();
+        driver.display(CAMERA);
 
-        for (Car c: cars) {
-            c.display();
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            c.display(CAMERA);
         }
     }
 
 
-    /** Update positions of backgrounds, coins and passengers make it look like player
-     * is moving in the y-direction
-     * @param input The current status of the keyboard being used to control the game
+    /** Move the camera and background forward to make it look like player is moving in the
+     * y-direction, and move cars under their own speed
+     * @param input The keys held down this frame
      */
-    private void moveForward(Input input) {
+    void moveForward(KeyState input) {
         int increase = 0;
         int collRem;
         if (driver.isVisible()) {
@@ -235,8 +515,7 @@ public class Game {
             if (collRem > 0) {
                 // in collision timeout, can't move with controls
                 driver.setCollisionMovement(--collRem);
-                driver.setPosition(
-                        new Point(driver.getPosition().x + driver.getDirection(), driver.getPosition().y));
+                driver.setX(driver.getX() + driver.getDirection());
                 increase = -driver.getDirection();
             }
             else if (input.isDown(Keys.UP)) {
@@ -265,22 +544,23 @@ public class Game {
             }
         }
 
-        // move background and all entities
+        // move the view forward, keeping the player in the same place on screen
+        CAMERA.scroll(increase);
         background.moveY(increase);
-        for (Powerup p: powerups) {
-            p.moveY(increase);
-        }
-        for (Passenger p: passengers) {
-            p.moveY(increase);
+        driver.moveY(-increase);
+        if (!driver.isVisible()) {
+            driver.getTaxi().moveY(-increase);
         }
-        for (Car c: cars) {
-            c.moveY(increase);
+
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            c.move();
         }
 
         // move taxi if not being controlled by driver
         if (driver.isVisible()) {
-            driver.getTaxi().moveY(increase);
-            if (driver.getPosition().distanceTo(driver.getTaxi().getPosition()) < driver.RADIUS) {
+            driver.getTaxi().move();
+            if (driver.distanceTo(driver.getTaxi().getX(), driver.getTaxi().getY()) < driver.RADIUS) {
                 // get in taxi
                 driver.setVisible(false);
 
@@ -291,76 +571,106 @@ public class Game {
             }
 
         }
-
-        // update position of effect sprites
-        if (driver.isDead()) {
-            driver.incPosOfDeath(increase);
-        }
-        if (!driver.isVisible() && (driver.getTaxi().getEffectFor() > 0)) {
-            Taxi t = driver.getTaxi();
-            t.setPosOfEffect(new Point(t.getPosOfEffect().x, t.getPosOfEffect().y + increase));
-        }
     }
 
 
     /** Display current statistics about game on screen
      */
     private void displayInfo() {
-        // get last/current trip information
-        trip = driver.getLastTrip();
+        // show last/current trip information
         if (trip != null) {
             trip.showTripDetails();
         }
 
         // show on screen text
-        FONT.drawString(MSG_PROPS.getProperty("gamePlay.earnings") + String.format("%.2f", totalEarnings),
-                EARNINGS_X, EARNINGS_Y);
-        FONT.drawString(MSG_PROPS.getProperty("gamePlay.target") + TARGET, TARGET_X, TARGET_Y);
-        FONT.drawString(MSG_PROPS.getProperty("gamePlay.remFrames") + (framesLeft), FRAMES_X, FRAMES_Y);
+        EARNINGS_TEXT.draw(totalEarnings, EARNINGS_X, EARNINGS_Y);
+        FONT.drawString(TARGET_TEXT, TARGET_X, TARGET_Y);
+        FRAMES_TEXT.draw(framesLeft, FRAMES_X, FRAMES_Y);
+        if (QUALITY.isEnabled()) {
+            FONT.drawString(QUALITY.getLevelText(), QUALITY_X, QUALITY_Y);
+        }
 
         // show number of frames coin has been active for
         if (driver.getCoin() != null && driver.getCoin().getRemFrames() != 0) {
-            FONT.drawString(String.valueOf(COIN_MAX - driver.getCoin().getRemFrames()), COIN_X, COIN_Y);
+            COIN_TEXT.draw(COIN_MAX - driver.getCoin().getRemFrames(), COIN_X, COIN_Y);
         }
 
 
         if (driver.getPassenger() != null) {
             // display health of passenger
-            FONT.drawString(String.format(driver.getPassenger().HEALTH + "%.1f", driver.getPassenger().getHealth()),
+            PASSENGER_HEALTH_TEXT.draw(driver.getPassenger().getHealth(),
                     driver.getPassenger().HEALTH_X, driver.getPassenger().HEALTH_Y);
         }
-        else if (!passengers.isEmpty()) {
+        else {
             // display minimum health of all passengers that have not completed journey
-            Passenger minPass = passengers.get(0);
-            for (Passenger p: passengers) {
-                if (p.getHealth() < minPass.getHealth() && !p.hasArrived()) {
-                    minPass = p;
-                }
+            Passenger minPass = HEALTH_TRACKER.getMin();
+            double minHealth = retiredMinHealth;
+            if (minPass != null) {
+                minHealth = Math.min(minHealth, minPass.getHealth());
+            }
+            else if (minHealth == Double.POSITIVE_INFINITY && !passengers.isEmpty()) {
+                minHealth = passengers.get(0).getHealth();
+            }
+            if (minHealth != Double.POSITIVE_INFINITY) {
+                PASSENGER_HEALTH_TEXT.draw(minHealth, CONFIG.PASSENGER_HEALTH_X, CONFIG.PASSENGER_HEALTH_Y);
             }
-            FONT.drawString(String.format(minPass.HEALTH + "%.1f", minPass.getHealth()),
-                    minPass.HEALTH_X, minPass.HEALTH_Y);
         }
     }
 
 
     /** Check for collisions between all entities which can take damage
-     * and all that can give damage and prompt collision if valid
+     * and all nearby entities that can give damage and prompt collision if valid
      */
-    private void checkAllCollisions() {
+    public void checkAllCollisions() {
+        // sort all entities which can be damaged into cells by position
+        GRID.clear();
+        for (int i = 0; i < cars.size(); i++) {
+            Car c = cars.get(i);
+            GRID.add(c);
+        }
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
+            GRID.add(p);
+        }
+        GRID.add(driver.getTaxi());
+        if (driver.isVisible())
+            GRID.add(driver);
+
         // cycle through all entities which can damage others
-        for (Car attacker: cars) {
-            // cycle through all entities which can be damaged
-            for (Car victimC: cars) {
-                attacker.collide(victimC);
+        for (int j = 0; j < cars.size(); j++) {
+            Car attacker = cars.get(j);
+            // cycle through all entities close enough to be damaged
+            ArrayList<Damagable> victims = GRID.near(attacker.getX(), attacker.getY(), attacker.RADIUS);
+            for (int i = 0; i < victims.size(); i++) {
+                attacker.collide(victims.get(i));
             }
-            for (Passenger victimP: passengers) {
-                attacker.collide(victimP);
+
+            if (attacker instanceof EnemyCar) {
+                checkFireballCollisions((EnemyCar) attacker);
             }
+        }
+    }
 
-            attacker.collide(driver.getTaxi());
 
-            if (driver.isVisible())
-                attacker.collide(driver);
+    /** Check for collisions between an enemy car's fireballs and all nearby entities
+     * which can take damage
+     * @param enemy The enemy car which shot the fireballs
+     */
+    private void checkFireballCollisions(EnemyCar enemy) {
+        ArrayList<Fireball> fireballs = enemy.getFireballs();
+        for (int j = 0; j < fireballs.size(); j++) {
+            Fireball f = fireballs.get(j);
+            if (!f.isVisible()) {
+                // fireball has already hit something
+                continue;
+            }
+
+            ArrayList<Damagable> victims = GRID.near(f.getX(), f.getY(), f.RADIUS);
+            for (int i = 0; i < victims.size(); i++) {
+                if (victims.get(i) != enemy)
+                    // fireballs should not damage the car that shot them
+                    f.collide(victims.get(i));
+            }
         }
     }
 
@@ -368,24 +678,25 @@ public class Game {
     /** Check if the game has been won or lost or if player can keep playing
      * @return Status of game (won, lost, continue)
      */
-    private int checkStatus() {
-        for (Passenger p: passengers) {
+    public int checkStatus() {
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger p = passengers.get(i);
             if (p.isDead() && p.getBleedingFor() <= 0)
                 // automatic loss if passenger dies
-                return LOSE;
+                return lose(PASSENGER_DIED);
         }
 
-        if (driver.getTaxi().getPosition().y > Window.getHeight())
+        if (CAMERA.toScreenY(driver.getTaxi().getY()) > WINDOW_HEIGHT)
             // automatic loss if driver walks out of bounds
-            return LOSE;
+            return lose(LEFT_SCREEN);
 
         else if (driver.isDead() && driver.getBleedingFor() <= 0)
             // automatic loss if driver dies
-            return LOSE;
+            return lose(DRIVER_DIED);
 
         else if (framesLeft <= 0)
             // automatic loss if game runs for too long
-            return LOSE;
+            return lose(OUT_OF_TIME);
 
         else if (totalEarnings >= TARGET)
             // game is won if points exceed target
@@ -396,6 +707,16 @@ public class Game {
     }
 
 
+    /** Records why the game was lost
+     * @param cause The reason for the loss
+     * @return The status of a lost game
+     */
+    private int lose(int cause) {
+        lossCause = cause;
+        return LOSE;
+    }
+
+
     /** Adds any new cars (enemy, taxi, other) to game
      */
     private void addCars() {
@@ -412,15 +733,15 @@ public class Game {
         if (driver.getTaxi().isDead()) {
             // add dead taxi to list of normal cars and then generate a new one
             cars.add(driver.getTaxi());
-            driver.newTaxi();
+            driver.newTaxi(CAMERA);
         }
     }
 
 
     /** Check if taxi is able ot pick up or drop off a passenger
-     * @param input The current status of the keyboard being used to control the game
+     * @param input The keys held down this frame
      */
-    private void checkPassenger(Input input) {
+    private void checkPassenger(KeyState input) {
         if (input.isUp(Keys.UP) && input.isUp(Keys.DOWN)
             && input.isUp(Keys.RIGHT) && input.isUp(Keys.LEFT)) {
             // taxi/driver is stationary
@@ -434,19 +755,37 @@ public class Game {
                 // taxi full and not moving
                 EndFlag end = trip.getEnd();
 
-                if (!driver.isVisible() && (currPass.getPosition().y <= end.getPosition().y
-                        || currPass.getPosition().distanceTo(end.getPosition()) <= end.RADIUS)) {
+                if (!driver.isVisible() && (currPass.getY() <= end.getY()
+                        || currPass.distanceTo(end.getX(), end.getY()) <= end.RADIUS)) {
                     // we can drop off this passenger!
-                    trip.updatePenalty(currPass.getPosition());
+                    trip.updatePenalty(currPass.getX(), currPass.getY());
+                    TRIPS.remove(currPass.getTrip());
                     currPass.dropOff(driver);
                     totalEarnings += (trip.getEarnings() - trip.getPenalty());
                 }
                 else if (currPass.isApproachTaxi()) {
                     // Passenger needs to get back into taxi after being ejected (not yet at end of trip)
-                    currPass.setApproachTaxi(!currPass.approach(driver.getTaxi().getPosition()));
+                    currPass.setApproachTaxi(!currPass.approach(driver.getTaxi().getX(), driver.getTaxi().getY()));
                     currPass.setVisible(currPass.isApproachTaxi());
                 }
             }
         }
     }
-}
\ No newline at end of file
+
+    public double getTotalEarnings() { return totalEarnings; }
+    public Driver getDriver() { return driver; }
+    public EntityReaper getReaper() { return REAPER; }
+    public CarGenerator getCarGenerator() { return CAR_GEN; }
+    public long getSeed() { return RANDOM.getSeed(); }
+    public ArrayList<Car> getCars() { return cars; }
+    public Camera getCamera() { return CAMERA; }
+    public FrameProfiler getProfiler() { return PROFILER; }
+    public QualityGovernor getQuality() { return QUALITY; }
+    public WeatherTimeline getWeather() { return weather; }
+    public TripRegistry getTrips() { return TRIPS; }
+    public ArrayList<Passenger> getPassengers() { return passengers; }
+    public ArrayList<Powerup> getPowerups() { return powerups; }
+    public int getFramesLeft() { return framesLeft; }
+    public int getFramesPlayed() { return MAX_FRAMES - framesLeft; }
+    public int getLossCause() { return lossCause; }
+}
\ No newline at end of file
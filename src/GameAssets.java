@@ -0,0 +1,70 @@
+/** Class holding a single shared handle to every graphic and font of a configuration, so that
+ * entities of every game played with it use the same handles rather than each fetching their own
+ * from the AssetRegistry
+ * Handles are only counted in the registry while some entity has acquired them
+ */
+public class GameAssets {
+    public final Sprite BACKGROUND_SUNNY;
+    public final Sprite BACKGROUND_RAINING;
+    public final Sprite BACKGROUND_HOME;
+    public final Sprite BACKGROUND_PLAYER_INFO;
+    public final Sprite BACKGROUND_GAME_END;
+
+    public final Sprite TAXI;
+    public final Sprite TAXI_DAMAGED;
+    public final Sprite[] OTHER_CARS;
+    public final Sprite ENEMY_CAR;
+    public final Sprite FIREBALL;
+    public final Sprite DRIVER;
+    public final Sprite PASSENGER;
+    public final Sprite COIN;
+    public final Sprite INVINCIBLE_POWER;
+    public final Sprite END_FLAG;
+    public final Sprite SMOKE;
+    public final Sprite FIRE;
+    public final Sprite BLOOD;
+
+    public final Typeface INFO_FONT;
+    public final Typeface PASSENGER_FONT;
+    public final Typeface STATUS_FONT;
+    public final Typeface SCORES_FONT;
+    public final Typeface TITLE_FONT;
+    public final Typeface INSTRUCTION_FONT;
+    public final Typeface PLAYER_INFO_FONT;
+
+    /** Constructs a GameAssets object (does not load anything, so needs no bagel window)
+     * @param config An object containing all game values and graphics
+     */
+    public GameAssets(GameConfig config) {
+        BACKGROUND_SUNNY = new Sprite(config.BACKGROUND_SUNNY);
+        BACKGROUND_RAINING = new Sprite(config.BACKGROUND_RAINING);
+        BACKGROUND_HOME = new Sprite(config.BACKGROUND_HOME);
+        BACKGROUND_PLAYER_INFO = new Sprite(config.BACKGROUND_PLAYER_INFO);
+        BACKGROUND_GAME_END = new Sprite(config.BACKGROUND_GAME_END);
+
+        TAXI = new Sprite(config.TAXI_IMAGE);
+        TAXI_DAMAGED = new Sprite(config.TAXI_DAMAGED_IMAGE);
+        OTHER_CARS = new Sprite[config.OTHER_CAR.TYPES];
+        for (int i = 0; i < OTHER_CARS.length; i++) {
+            OTHER_CARS[i] = new Sprite(String.format(config.OTHER_CAR.IMAGE, i + 1));
+        }
+        ENEMY_CAR = new Sprite(config.ENEMY_CAR.IMAGE);
+        FIREBALL = new Sprite(config.FIREBALL_IMAGE);
+        DRIVER = new Sprite(config.DRIVER.IMAGE);
+        PASSENGER = new Sprite(config.PASSENGER.IMAGE);
+        COIN = new Sprite(config.COIN.IMAGE);
+        INVINCIBLE_POWER = new Sprite(config.INVINCIBLE_POWER.IMAGE);
+        END_FLAG = new Sprite(config.END_FLAG_IMAGE);
+        SMOKE = new Sprite(config.SMOKE.IMAGE);
+        FIRE = new Sprite(config.FIRE.IMAGE);
+        BLOOD = new Sprite(config.BLOOD.IMAGE);
+
+        INFO_FONT = new Typeface(config.FONT, config.INFO_FONT_SIZE);
+        PASSENGER_FONT = new Typeface(config.FONT, config.PASSENGER_FONT_SIZE);
+        STATUS_FONT = new Typeface(config.FONT, config.STATUS_FONT_SIZE);
+        SCORES_FONT = new Typeface(config.FONT, config.SCORES_FONT_SIZE);
+        TITLE_FONT = new Typeface(config.FONT, config.TITLE_FONT_SIZE);
+        INSTRUCTION_FONT = new Typeface(config.FONT, config.INSTRUCTION_FONT_SIZE);
+        PLAYER_INFO_FONT = new Typeface(config.FONT, config.PLAYER_INFO_FONT_SIZE);
+    }
+}
@@ -0,0 +1,471 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/** Immutable class containing all game values and graphics, parsed once from the game
+ * properties so that no strings need to be parsed while the game is running
+ */
+public class GameConfig {
+    // window
+    public final int WINDOW_WIDTH;
+    public final int WINDOW_HEIGHT;
+    public final String FONT;
+
+    // backgrounds
+    public final String BACKGROUND_SUNNY;
+    public final String BACKGROUND_RAINING;
+    public final String BACKGROUND_HOME;
+    public final String BACKGROUND_PLAYER_INFO;
+    public final String BACKGROUND_GAME_END;
+
+    // gameplay screen
+    public final String OBJECTS_FILE;
+    public final String WEATHER_FILE;
+    public final double TARGET;
+    public final int MAX_FRAMES;
+    public final int INFO_FONT_SIZE;
+    public final int MAX_FRAMES_X;
+    public final int MAX_FRAMES_Y;
+    public final int TARGET_X;
+    public final int TARGET_Y;
+    public final int EARNINGS_X;
+    public final int EARNINGS_Y;
+    public final int COIN_X;
+    public final int COIN_Y;
+    public final int TRIP_INFO_X;
+    public final int TRIP_INFO_Y;
+    public final int PASSENGER_HEALTH_X;
+    public final int PASSENGER_HEALTH_Y;
+    public final int DRIVER_HEALTH_X;
+    public final int DRIVER_HEALTH_Y;
+    public final int TAXI_HEALTH_X;
+    public final int TAXI_HEALTH_Y;
+    public final int RETIRE_MARGIN;
+    public final int ACTIVATION_MARGIN;
+    // ticks of the game per second, and the most ticks run to catch up before a frame is drawn
+    public final int TICK_RATE;
+    public final int MAX_TICKS_PER_FRAME;
+    // drop optional drawing when frames take longer than the budget
+    public final boolean ADAPTIVE_QUALITY;
+    public final double FRAME_BUDGET_MILLIS;
+    public final int QUALITY_X;
+    public final int QUALITY_Y;
+    // seed used for every game so runs can be reproduced, null if each game gets a new seed
+    public final Long SEED;
+    // file each game's input is recorded to for replays, null if games are not recorded
+    public final String RECORDING_FILE;
+    // file each game's frame timings are written to when it ends, null if not written
+    public final String PROFILE_FILE;
+    public final boolean PROFILE_OVERLAY;
+    // let the autopilot drive in place of the keyboard (e.g. for soak tests)
+    public final boolean AUTOPILOT;
+
+    // game end screen
+    public final int STATUS_FONT_SIZE;
+    public final int STATUS_Y;
+    public final int SCORES_FONT_SIZE;
+    public final int SCORES_Y;
+    public final String SCORES_FILE;
+    public final String SCORE_STORE;
+    public final int SCORES_QUEUE_SIZE;
+    public final String SCORES_SYNC;
+    public final int SCORES_SYNC_INTERVAL;
+
+    // home screen
+    public final int TITLE_FONT_SIZE;
+    public final int TITLE_Y;
+    public final int INSTRUCTION_FONT_SIZE;
+    public final int INSTRUCTION_Y;
+
+    // player info screen
+    public final int PLAYER_INFO_FONT_SIZE;
+    public final int START_Y;
+    public final int PLAYER_NAME_INPUT_Y;
+    public final int PLAYER_NAME_Y;
+
+    // trip
+    public final double RATE_PER_Y;
+    public final int PRIORITY_RATE_1;
+    public final int PRIORITY_RATE_2;
+    public final int PRIORITY_RATE_3;
+    public final double PENALTY_PER_Y;
+
+    /** X-coords of the centre of each road lane
+     */
+    private final int[] LANES;
+
+    // taxi
+    public final String TAXI_IMAGE;
+    public final String TAXI_DAMAGED_IMAGE;
+    public final double TAXI_RADIUS;
+    public final double TAXI_HEALTH;
+    public final double TAXI_DAMAGE;
+    public final int TAXI_SPEED_X;
+    public final int TAXI_SPEED_Y;
+    public final int TAXI_SPAWN_MIN_Y;
+    public final int TAXI_SPAWN_MAX_Y;
+
+    // other entities
+    public final CarSpec OTHER_CAR;
+    public final CarSpec ENEMY_CAR;
+    public final PersonSpec DRIVER;
+    public final PersonSpec PASSENGER;
+    public final PowerupSpec COIN;
+    public final PowerupSpec INVINCIBLE_POWER;
+    public final EffectSpec SMOKE;
+    public final EffectSpec FIRE;
+    public final EffectSpec BLOOD;
+
+    // fireball
+    public final String FIREBALL_IMAGE;
+    public final double FIREBALL_RADIUS;
+    public final double FIREBALL_DAMAGE;
+    public final int FIREBALL_SPEED_Y;
+    public final int FIREBALL_SPAWN_DIVISOR;
+
+    // passenger
+    public final int PASSENGER_DETECT_RADIUS;
+    public final int PASSENGER_FONT_SIZE;
+
+    // trip end flag
+    public final String END_FLAG_IMAGE;
+    public final double END_FLAG_RADIUS;
+
+    /** Shared handles to every graphic and font, used by all games played with this config */
+    public final GameAssets ASSETS;
+
+
+    /** Class containing the values of a type of car which is randomly generated
+     */
+    public static class CarSpec {
+        /** Path of the graphic, which may contain %d to be replaced by the car type */
+        public final String IMAGE;
+        public final double RADIUS;
+        public final double HEALTH;
+        public final double DAMAGE;
+        public final int MIN_SPEED_Y;
+        public final int MAX_SPEED_Y;
+        public final int TYPES;
+        /** A car is generated in a frame with probability 1 / SPAWN_DIVISOR (from 1 to 1000) */
+        public final int SPAWN_DIVISOR;
+
+        private CarSpec(PropertyReader props, String prefix) {
+            IMAGE = props.string(prefix + ".image");
+            RADIUS = props.decimal(prefix + ".radius");
+            HEALTH = props.decimal(prefix + ".health");
+            DAMAGE = props.decimal(prefix + ".damage");
+            MIN_SPEED_Y = props.integer(prefix + ".minSpeedY");
+            MAX_SPEED_Y = props.integer(prefix + ".maxSpeedY");
+            TYPES = props.integer(prefix + ".types");
+            SPAWN_DIVISOR = props.integer(prefix + ".spawnDivisor");
+        }
+    }
+
+
+    /** Class containing the values of a type of person
+     */
+    public static class PersonSpec {
+        public final String IMAGE;
+        public final int WALK_SPEED_X;
+        public final int WALK_SPEED_Y;
+        public final double RADIUS;
+        public final double HEALTH;
+
+        private PersonSpec(PropertyReader props, String prefix) {
+            IMAGE = props.string(prefix + ".image");
+            WALK_SPEED_X = props.integer(prefix + ".walkSpeedX");
+            WALK_SPEED_Y = props.integer(prefix + ".walkSpeedY");
+            RADIUS = props.decimal(prefix + ".radius");
+            HEALTH = props.decimal(prefix + ".health");
+        }
+    }
+
+
+    /** Class containing the values of a type of powerup
+     */
+    public static class PowerupSpec {
+        public final String IMAGE;
+        public final double RADIUS;
+        public final int MAX_FRAMES;
+
+        private PowerupSpec(PropertyReader props, String prefix) {
+            IMAGE = props.string(prefix + ".image");
+            RADIUS = props.decimal(prefix + ".radius");
+            MAX_FRAMES = props.integer(prefix + ".maxFrames");
+        }
+    }
+
+
+    /** Class containing the values of a temporary effect (smoke, fire, blood)
+     */
+    public static class EffectSpec {
+        public final String IMAGE;
+        public final int TTL;
+
+        private EffectSpec(PropertyReader props, String prefix) {
+            IMAGE = props.string(prefix + ".image");
+            TTL = props.integer(prefix + ".ttl");
+        }
+    }
+
+
+    /** Constructs a GameConfig object, checking that every value is present and valid
+     * @param gameProps An object containing all game values and graphics
+     * @throws IllegalArgumentException If any values are missing or invalid, listing all of them
+     */
+    public GameConfig(Properties gameProps) {
+        PropertyReader props = new PropertyReader(gameProps);
+
+        WINDOW_WIDTH = props.integer("window.width");
+        WINDOW_HEIGHT = props.integer("window.height");
+        FONT = props.string("font");
+
+        BACKGROUND_SUNNY = props.string("backgroundImage.sunny");
+        BACKGROUND_RAINING = props.string("backgroundImage.raining");
+        BACKGROUND_HOME = props.string("backgroundImage.home");
+        BACKGROUND_PLAYER_INFO = props.string("backgroundImage.playerInfo");
+        BACKGROUND_GAME_END = props.string("backgroundImage.gameEnd");
+
+        OBJECTS_FILE = props.string("gamePlay.objectsFile");
+        WEATHER_FILE = props.string("gamePlay.weatherFile");
+        TARGET = props.decimal("gamePlay.target");
+        MAX_FRAMES = props.integer("gamePlay.maxFrames");
+        INFO_FONT_SIZE = props.integer("gamePlay.info.fontSize");
+        MAX_FRAMES_X = props.integer("gamePlay.maxFrames.x");
+        MAX_FRAMES_Y = props.integer("gamePlay.maxFrames.y");
+        TARGET_X = props.integer("gamePlay.target.x");
+        TARGET_Y = props.integer("gamePlay.target.y");
+        EARNINGS_X = props.integer("gamePlay.earnings.x");
+        EARNINGS_Y = props.integer("gamePlay.earnings.y");
+        COIN_X = props.integer("gameplay.coin.x");
+        COIN_Y = props.integer("gameplay.coin.y");
+        TRIP_INFO_X = props.integer("gamePlay.tripInfo.x");
+        TRIP_INFO_Y = props.integer("gamePlay.tripInfo.y");
+        PASSENGER_HEALTH_X = props.integer("gamePlay.passengerHealth.x");
+        PASSENGER_HEALTH_Y = props.integer("gamePlay.passengerHealth.y");
+        DRIVER_HEALTH_X = props.integer("gamePlay.driverHealth.x");
+        DRIVER_HEALTH_Y = props.integer("gamePlay.driverHealth.y");
+        TAXI_HEALTH_X = props.integer("gamePlay.taxiHealth.x");
+        TAXI_HEALTH_Y = props.integer("gamePlay.taxiHealth.y");
+        RETIRE_MARGIN = props.integer("gamePlay.retireMargin");
+        ACTIVATION_MARGIN = props.integer("gamePlay.activationMargin");
+        TICK_RATE = props.integer("gamePlay.tickRate");
+        MAX_TICKS_PER_FRAME = props.integer("gamePlay.maxTicksPerFrame");
+        ADAPTIVE_QUALITY = props.bool("gamePlay.adaptiveQuality");
+        FRAME_BUDGET_MILLIS = props.decimal("gamePlay.frameBudgetMillis");
+        QUALITY_X = props.integer("gamePlay.quality.x");
+        QUALITY_Y = props.integer("gamePlay.quality.y");
+        SEED = props.optionalLong("gamePlay.seed");
+        RECORDING_FILE = props.optionalString("gamePlay.recordingFile");
+        PROFILE_FILE = props.optionalString("gamePlay.profileFile");
+        PROFILE_OVERLAY = props.bool("gamePlay.profileOverlay");
+        AUTOPILOT = props.bool("gamePlay.autopilot");
+
+        STATUS_FONT_SIZE = props.integer("gameEnd.status.fontSize");
+        STATUS_Y = props.integer("gameEnd.status.y");
+        SCORES_FONT_SIZE = props.integer("gameEnd.scores.fontSize");
+        SCORES_Y = props.integer("gameEnd.scores.y");
+        SCORES_FILE = props.string("gameEnd.scoresFile");
+        SCORE_STORE = props.string("gameEnd.scoreStore");
+        SCORES_QUEUE_SIZE = props.integer("gameEnd.scoreStore.queueSize");
+        SCORES_SYNC = props.string("gameEnd.scoreStore.sync");
+        SCORES_SYNC_INTERVAL = props.integer("gameEnd.scoreStore.syncIntervalMillis");
+
+        TITLE_FONT_SIZE = props.integer("home.title.fontSize");
+        TITLE_Y = props.integer("home.title.y");
+        INSTRUCTION_FONT_SIZE = props.integer("home.instruction.fontSize");
+        INSTRUCTION_Y = props.integer("home.instruction.y");
+
+        PLAYER_INFO_FONT_SIZE = props.integer("playerInfo.fontSize");
+        START_Y = props.integer("playerInfo.start.y");
+        PLAYER_NAME_INPUT_Y = props.integer("playerInfo.playerNameInput.y");
+        PLAYER_NAME_Y = props.integer("playerInfo.playerName.y");
+
+        RATE_PER_Y = props.decimal("trip.rate.perY");
+        PRIORITY_RATE_1 = props.integer("trip.rate.priority1");
+        PRIORITY_RATE_2 = props.integer("trip.rate.priority2");
+        PRIORITY_RATE_3 = props.integer("trip.rate.priority3");
+        PENALTY_PER_Y = props.decimal("trip.penalty.perY");
+
+        LANES = new int[] {props.integer("roadLaneCenter1"),
+                props.integer("roadLaneCenter2"),
+                props.integer("roadLaneCenter3")};
+
+        TAXI_IMAGE = props.string("gameObjects.taxi.image");
+        TAXI_DAMAGED_IMAGE = props.string("gameObjects.taxi.damagedImage");
+        TAXI_RADIUS = props.decimal("gameObjects.taxi.radius");
+        TAXI_HEALTH = props.decimal("gameObjects.taxi.health");
+        TAXI_DAMAGE = props.decimal("gameObjects.taxi.damage");
+        TAXI_SPEED_X = props.integer("gameObjects.taxi.speedX");
+        TAXI_SPEED_Y = props.integer("gameObjects.taxi.speedY");
+        TAXI_SPAWN_MIN_Y = props.integer("gameObjects.taxi.nextSpawnMinY");
+        TAXI_SPAWN_MAX_Y = props.integer("gameObjects.taxi.nextSpawnMaxY");
+
+        OTHER_CAR = new CarSpec(props, "gameObjects.otherCar");
+        ENEMY_CAR = new CarSpec(props, "gameObjects.enemyCar");
+        DRIVER = new PersonSpec(props, "gameObjects.driver");
+        PASSENGER = new PersonSpec(props, "gameObjects.passenger");
+        COIN = new PowerupSpec(props, "gameObjects.coin");
+        INVINCIBLE_POWER = new PowerupSpec(props, "gameObjects.invinciblePower");
+        SMOKE = new EffectSpec(props, "gameObjects.smoke");
+        FIRE = new EffectSpec(props, "gameObjects.fire");
+        BLOOD = new EffectSpec(props, "gameObjects.blood");
+
+        FIREBALL_IMAGE = props.string("gameObjects.fireball.image");
+        FIREBALL_RADIUS = props.decimal("gameObjects.fireball.radius");
+        FIREBALL_DAMAGE = props.decimal("gameObjects.fireball.damage");
+        FIREBALL_SPEED_Y = props.integer("gameObjects.fireball.shootSpeedY");
+        FIREBALL_SPAWN_DIVISOR = props.integer("gameObjects.fireball.spawnDivisor");
+
+        PASSENGER_DETECT_RADIUS = props.integer("gameObjects.passenger.taxiDetectRadius");
+        PASSENGER_FONT_SIZE = props.integer("gameObjects.passenger.fontSize");
+
+        END_FLAG_IMAGE = props.string("gameObjects.tripEndFlag.image");
+        END_FLAG_RADIUS = props.decimal("gameObjects.tripEndFlag.radius");
+
+        // check ranges that would otherwise only fail mid-game
+        props.check(OTHER_CAR.MIN_SPEED_Y <= OTHER_CAR.MAX_SPEED_Y,
+                "gameObjects.otherCar.minSpeedY must not exceed maxSpeedY");
+        props.check(ENEMY_CAR.MIN_SPEED_Y <= ENEMY_CAR.MAX_SPEED_Y,
+                "gameObjects.enemyCar.minSpeedY must not exceed maxSpeedY");
+        props.check(TAXI_SPAWN_MIN_Y < TAXI_SPAWN_MAX_Y,
+                "gameObjects.taxi.nextSpawnMinY must be less than nextSpawnMaxY");
+        props.check(OTHER_CAR.TYPES > 0, "gameObjects.otherCar.types must be positive");
+        props.check(OTHER_CAR.SPAWN_DIVISOR >= 1 && OTHER_CAR.SPAWN_DIVISOR <= 1000,
+                "gameObjects.otherCar.spawnDivisor must be from 1 to 1000");
+        props.check(ENEMY_CAR.SPAWN_DIVISOR >= 1 && ENEMY_CAR.SPAWN_DIVISOR <= 1000,
+                "gameObjects.enemyCar.spawnDivisor must be from 1 to 1000");
+        props.check(FIREBALL_SPAWN_DIVISOR >= 1 && FIREBALL_SPAWN_DIVISOR <= 1000,
+                "gameObjects.fireball.spawnDivisor must be from 1 to 1000");
+        props.check(TICK_RATE > 0, "gamePlay.tickRate must be positive");
+        props.check(MAX_TICKS_PER_FRAME > 0, "gamePlay.maxTicksPerFrame must be positive");
+        props.check(FRAME_BUDGET_MILLIS > 0, "gamePlay.frameBudgetMillis must be positive");
+        props.check(SCORES_QUEUE_SIZE > 0, "gameEnd.scoreStore.queueSize must be positive");
+        props.check(ScoreWriter.SYNC_ALWAYS.equals(SCORES_SYNC) || ScoreWriter.SYNC_INTERVAL.equals(SCORES_SYNC)
+                        || ScoreWriter.SYNC_NEVER.equals(SCORES_SYNC),
+                "gameEnd.scoreStore.sync must be always, interval or never");
+
+        props.throwIfInvalid();
+
+        ASSETS = new GameAssets(this);
+    }
+
+
+    /** Gets the x-coord of the centre of a road lane
+     * @param lane Index of the lane, starting from 0
+     * @return X-coord of the lane centre
+     */
+    public int getLane(int lane) {
+        return LANES[lane];
+    }
+
+    public int getLaneCount() { return LANES.length; }
+
+
+    /** Finds the paths of every graphic used in the game
+     * @return Paths of all graphics
+     */
+    public List<String> getImagePaths() {
+        TreeSet<String> paths = new TreeSet<String>();
+        Collections.addAll(paths, BACKGROUND_SUNNY, BACKGROUND_RAINING, BACKGROUND_HOME,
+                BACKGROUND_PLAYER_INFO, BACKGROUND_GAME_END, TAXI_IMAGE, TAXI_DAMAGED_IMAGE,
+                ENEMY_CAR.IMAGE, DRIVER.IMAGE, PASSENGER.IMAGE, COIN.IMAGE, INVINCIBLE_POWER.IMAGE,
+                SMOKE.IMAGE, FIRE.IMAGE, BLOOD.IMAGE, FIREBALL_IMAGE, END_FLAG_IMAGE);
+        for (int type = 1; type <= OTHER_CAR.TYPES; type++) {
+            paths.add(String.format(OTHER_CAR.IMAGE, type));
+        }
+        return new ArrayList<String>(paths);
+    }
+
+
+    /** Finds every size of font used in the game
+     * @return All font sizes
+     */
+    public List<Integer> getFontSizes() {
+        TreeSet<Integer> sizes = new TreeSet<Integer>();
+        Collections.addAll(sizes, INFO_FONT_SIZE, STATUS_FONT_SIZE, SCORES_FONT_SIZE, TITLE_FONT_SIZE,
+                INSTRUCTION_FONT_SIZE, PLAYER_INFO_FONT_SIZE, PASSENGER_FONT_SIZE);
+        return new ArrayList<Integer>(sizes);
+    }
+
+
+    /** Class which reads typed values from properties, recording every missing or invalid value
+     */
+    private static class PropertyReader {
+        private final Properties PROPS;
+        private final ArrayList<String> ERRORS = new ArrayList<String>();
+
+        private PropertyReader(Properties props) {
+            PROPS = props;
+        }
+
+        private String string(String key) {
+            String value = PROPS.getProperty(key);
+            if (value == null || value.isBlank()) {
+                ERRORS.add("missing property '" + key + "'");
+                return null;
+            }
+            return value.trim();
+        }
+
+        private int integer(String key) {
+            String value = string(key);
+            try {
+                return value == null ? 0 : Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                ERRORS.add("property '" + key + "' must be a whole number but was '" + value + "'");
+                return 0;
+            }
+        }
+
+        private String optionalString(String key) {
+            String value = PROPS.getProperty(key);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        private Long optionalLong(String key) {
+            String value = PROPS.getProperty(key);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                ERRORS.add("property '" + key + "' must be a whole number but was '" + value + "'");
+                return null;
+            }
+        }
+
+        private boolean bool(String key) {
+            String value = string(key);
+            if (value != null && !value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                ERRORS.add("property '" + key + "' must be true or false but was '" + value + "'");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        private double decimal(String key) {
+            String value = string(key);
+            try {
+                return value == null ? 0 : Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                ERRORS.add("property '" + key + "' must be a number but was '" + value + "'");
+                return 0;
+            }
+        }
+
+        private void check(boolean valid, String message) {
+            if (!valid) {
+                ERRORS.add(message);
+            }
+        }
+
+        private void throwIfInvalid() {
+            if (!ERRORS.isEmpty()) {
+                throw new IllegalArgumentException("Invalid game properties:\n  " + String.join("\n  ", ERRORS));
+            }
+        }
+    }
+}
@@ -1,54 +1,134 @@
-import bagel.Image;
-import bagel.util.Point;
-
 /** An abstract class representing physical entities that exist in the game
- * Entities may all be moved in the y-direction and displayed on screen
+ * Entities are positioned in world coordinates and may all be moved in the y-direction and
+ * displayed on screen through a camera
  */
-public abstract class GameEntity implements Displayable {
-    private final Image SPRITE;
+public abstract class GameEntity {
+    private Sprite sprite;
 
     /** The valid collision radius of the entity
      */
     public final double RADIUS;
 
     private int speedY;
-    private Point position;
+    private double x;
+    private double y;
+    // position at the previous tick, which drawing blends from
+    private double previousX;
+    private double previousY;
     private boolean visible = true;
 
     /** Constructs a GameEntity object (must be called in constructor of subclass)
-     * @param SPRITE The graphic used to represent the entity
+     * @param sprite The graphic used to represent the entity
      * @param RADIUS The valid collision radius of the entity
      * @param speedY The initial vertical speed of the entity
-     * @param position The initial position of the entity in relation to the screen
+     * @param x The initial x-coord of the entity
+     * @param y The initial y-coord of the entity in the world
      */
-    public GameEntity(Image SPRITE, double RADIUS, int speedY, Point position) {
-        this.SPRITE = SPRITE;
+    public GameEntity(Sprite sprite, double RADIUS, int speedY, double x, double y) {
+        this.sprite = sprite.acquire();
         this.RADIUS = RADIUS;
         this.speedY = speedY;
-        this.position = position;
+        this.x = x;
+        this.y = y;
+        previousX = x;
+        previousY = y;
     }
 
     /** Default implementation for showing entity on screen
+     * @param camera The view through which the entity is seen
      */
-    @Override
-    public void display() {
+    public void display(Camera camera) {
         if (visible)
-            SPRITE.draw(position.x, position.y);
+            sprite.draw(getDrawX(camera), getDrawY(camera));
+    }
+
+
+    /** Keeps the entity's current position as its position at the previous tick, before the
+     * next tick moves it
+     */
+    public void savePosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+
+    /** Finds where the entity is drawn on screen, between its positions at the last two ticks
+     * @param camera The view through which the entity is seen
+     */
+    public double getDrawX(Camera camera) {
+        return camera.blend(previousX, x);
+    }
+
+
+    /** Finds where the entity is drawn on screen, between its positions at the last two ticks
+     * @param camera The view through which the entity is seen
+     */
+    public double getDrawY(Camera camera) {
+        return camera.toDrawY(previousY, y);
+    }
+
+
+    /** Default implementation for advancing the state of the entity by one frame
+     * (does not draw anything, so may be called without a bagel window)
+     */
+    public void update() {
+    }
+
+
+    /** Default implementation for releasing the graphics used by an entity once it has been
+     * removed from the game
+     */
+    public void retire() {
+        sprite.release();
     }
 
 
     /** Default implementation for changing y-position of entity
      */
     public void moveY(int dist) {
-        position = new Point(position.x, position.y + dist);
+        y += dist;
+    }
+
+
+    /** Finds the distance between the entity and a given point
+     * @param x X-coord of the point
+     * @param y Y-coord of the point
+     * @return The straight line distance to the point
+     */
+    public double distanceTo(double x, double y) {
+        double dx = x - this.x;
+        double dy = y - this.y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+
+    /** Moves the entity to a new position in the world
+     * @param x The new x-coord of the entity
+     * @param y The new y-coord of the entity
+     */
+    public void setPosition(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+
+    /** Changes the graphic used to represent the entity
+     * @param sprite The new graphic
+     */
+    public void setSprite(Sprite sprite) {
+        sprite.acquire();
+        this.sprite.release();
+        this.sprite = sprite;
     }
 
 
-    public Point getPosition() { return position; }
+    public double getX() { return x; }
+    public double getY() { return y; }
     public int getSpeedY() { return speedY; }
     public boolean isVisible() { return visible; }
 
     public void setVisible(boolean visible) { this.visible = visible; }
-    public void setPosition(Point position) { this.position = position; }
+    public void setX(double x) { this.x = x; }
+    public void setY(double y) { this.y = y; }
     public void setSpeedY(int speedY) { this.speedY = speedY; }
 }
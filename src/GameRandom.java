@@ -0,0 +1,48 @@
+import java.util.Random;
+
+/** Class which provides all randomness used by a game from a single seed, so that two games
+ * with the same seed and the same input play out identically
+ * Each subsystem takes its own stream, so extra random numbers drawn by one subsystem do not
+ * change the numbers drawn by any other
+ */
+public class GameRandom {
+    private final long SEED;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** Constructs a GameRandom object
+     * @param seed The seed from which all random streams are derived
+     */
+    public GameRandom(long seed) {
+        SEED = seed;
+    }
+
+
+    /** Creates the random stream used by a subsystem of the game
+     * @param subsystem Name identifying the subsystem (e.g. "cars")
+     * @return A random number generator which depends only on the seed and subsystem name
+     */
+    public Random split(String subsystem) {
+        return new Random(mix(SEED + GOLDEN_GAMMA * (subsystem.hashCode() + 1L)));
+    }
+
+
+    /** Scrambles the bits of a value so that similar seeds give unrelated streams
+     * (finaliser of the SplitMix64 generator)
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+
+    /** Chooses a new seed for a game which has not been given one
+     * @return A seed which differs between calls
+     */
+    public static long newSeed() {
+        return mix(System.nanoTime() + GOLDEN_GAMMA);
+    }
+
+    public long getSeed() { return SEED; }
+}
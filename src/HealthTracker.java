@@ -0,0 +1,120 @@
+import java.util.Arrays;
+
+/** Class which keeps the passengers who have not yet arrived at their destination in a heap
+ * ordered by health, so the passenger with the lowest health can be found without checking
+ * every passenger
+ * Each passenger remembers its position in the heap, so a change in its health only moves
+ * it up or down the heap
+ */
+public class HealthTracker {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Passenger[] heap = new Passenger[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /** Starts tracking the health of a passenger
+     * @param p The passenger to track
+     */
+    public void add(Passenger p) {
+        if (p.getTracker() != null) {
+            return;
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        p.setTracker(this);
+        place(p, size++);
+        siftUp(size - 1);
+    }
+
+
+    /** Moves a passenger to its new place in the heap after its health has changed
+     * @param p The passenger whose health changed
+     */
+    public void update(Passenger p) {
+        if (p.getTracker() != this) {
+            return;
+        }
+        int i = p.getTrackerIndex();
+        siftUp(i);
+        siftDown(p.getTrackerIndex());
+    }
+
+
+    /** Stops tracking the health of a passenger
+     * @param p The passenger to stop tracking
+     */
+    public void remove(Passenger p) {
+        if (p.getTracker() != this) {
+            return;
+        }
+        int i = p.getTrackerIndex();
+        p.setTracker(null);
+
+        // fill the gap with the last passenger in the heap
+        Passenger last = heap[--size];
+        heap[size] = null;
+        if (i < size) {
+            place(last, i);
+            siftUp(i);
+            siftDown(last.getTrackerIndex());
+        }
+    }
+
+
+    /** Moves a passenger up the heap while it has lower health than its parent
+     */
+    private void siftUp(int i) {
+        Passenger p = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].getHealth() <= p.getHealth()) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(p, i);
+    }
+
+
+    /** Moves a passenger down the heap while it has higher health than one of its children
+     */
+    private void siftDown(int i) {
+        Passenger p = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].getHealth() < heap[child].getHealth()) {
+                child++;
+            }
+            if (p.getHealth() <= heap[child].getHealth()) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(p, i);
+    }
+
+
+    /** Puts a passenger at a position in the heap
+     */
+    private void place(Passenger p, int i) {
+        heap[i] = p;
+        p.setTrackerIndex(i);
+    }
+
+
+    /** Gets the tracked passenger with the lowest health
+     * @return The passenger, or null if no passengers are tracked
+     */
+    public Passenger getMin() {
+        return size > 0 ? heap[0] : null;
+    }
+
+    public int size() { return size; }
+}
@@ -1,4 +1,3 @@
-import bagel.Font;
 import java.util.Properties;
 
 /** Class representing the opening title screen of the game
@@ -8,29 +7,27 @@ public class HomeScreen extends Screen {
     private final String TITLE;
     private final String INSTR;
 
-    private final Font TITLE_FONT;
-    private final Font INSTR_FONT;
+    private final Typeface TITLE_FONT;
+    private final Typeface INSTR_FONT;
 
     private final int TITLE_Y;
     private final int INSTR_Y;
 
     /** Constructs a HomeScreen object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
      */
-    public HomeScreen(Properties gameProps, Properties msgProps) {
-        super(gameProps.getProperty("backgroundImage.home"));
+    public HomeScreen(GameConfig config, Properties msgProps) {
+        super(config, config.ASSETS.BACKGROUND_HOME);
 
         TITLE = msgProps.getProperty("home.title");
         INSTR = msgProps.getProperty("home.instruction");
 
-        TITLE_FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("home.title.fontSize")));
-        INSTR_FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("home.instruction.fontSize")));
+        TITLE_FONT = config.ASSETS.TITLE_FONT.acquire();
+        INSTR_FONT = config.ASSETS.INSTRUCTION_FONT.acquire();
 
-        TITLE_Y = Integer.parseInt(gameProps.getProperty("home.title.y"));
-        INSTR_Y = Integer.parseInt(gameProps.getProperty("home.instruction.y"));
+        TITLE_Y = config.TITLE_Y;
+        INSTR_Y = config.INSTRUCTION_Y;
 
     }
 
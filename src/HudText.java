@@ -0,0 +1,47 @@
+/** Class representing a piece of on screen text showing a value (e.g. earnings), which keeps
+ * the text from the last frame and only formats it again when the value changes
+ */
+public class HudText {
+    private final Typeface FONT;
+    private final String PREFIX;
+    private final String FORMAT;
+
+    private boolean built = false;
+    private double value;
+    private String text;
+
+    /** Constructs a HudText object
+     * @param font The font used to draw the text
+     * @param prefix Text shown before the value
+     * @param decimals Number of decimal places shown, or 0 to show the value as a whole number
+     */
+    public HudText(Typeface font, String prefix, int decimals) {
+        FONT = font;
+        PREFIX = prefix;
+        FORMAT = decimals > 0 ? "%." + decimals + "f" : null;
+    }
+
+
+    /** Draws the text for a value, formatting it only if the value has changed
+     * @param value The value to be shown
+     * @param x X-coord of the bottom left of the text
+     * @param y Y-coord of the bottom left of the text
+     */
+    public void draw(double value, double x, double y) {
+        FONT.drawString(getText(value), x, y);
+    }
+
+
+    /** Gets the text shown for a value, formatting it only if the value has changed
+     * @param value The value to be shown
+     * @return The prefix followed by the formatted value
+     */
+    public String getText(double value) {
+        if (!built || Double.doubleToLongBits(value) != Double.doubleToLongBits(this.value)) {
+            text = FORMAT != null ? PREFIX + String.format(FORMAT, value) : PREFIX + (long) value;
+            this.value = value;
+            built = true;
+        }
+        return text;
+    }
+}
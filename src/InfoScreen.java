@@ -1,5 +1,4 @@
 import bagel.DrawOptions;
-import bagel.Font;
 import bagel.Input;
 import bagel.Keys;
 
@@ -14,7 +13,7 @@ public class InfoScreen extends Screen {
     private final String ENTER_NAME;
     private final String START;
 
-    private final Font FONT;
+    private final Typeface FONT;
 
     private final int ENTER_NAME_Y;
     private final int NAME_Y;
@@ -25,21 +24,20 @@ public class InfoScreen extends Screen {
     private String name;
 
     /** Constructs an InfoScreen object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
      */
-    public InfoScreen(Properties gameProps, Properties msgProps) {
-        super(gameProps.getProperty("backgroundImage.playerInfo"));
+    public InfoScreen(GameConfig config, Properties msgProps) {
+        super(config, config.ASSETS.BACKGROUND_PLAYER_INFO);
 
         ENTER_NAME = msgProps.getProperty("playerInfo.playerName");
         START = msgProps.getProperty("playerInfo.start");
 
-        FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("playerInfo.fontSize")));
+        FONT = config.ASSETS.PLAYER_INFO_FONT.acquire();
 
-        ENTER_NAME_Y = Integer.parseInt(gameProps.getProperty("playerInfo.playerName.y"));
-        START_Y = Integer.parseInt(gameProps.getProperty("playerInfo.start.y"));
-        NAME_Y = Integer.parseInt(gameProps.getProperty("playerInfo.playerNameInput.y"));
+        ENTER_NAME_Y = config.PLAYER_NAME_Y;
+        START_Y = config.START_Y;
+        NAME_Y = config.PLAYER_NAME_INPUT_Y;
 
         FONT_STYLE = new DrawOptions();
         FONT_STYLE.setBlendColour(0, 0, 0);
@@ -0,0 +1,125 @@
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/** Class which records the keys used in each frame of a game to a compact binary file, so that
+ * the game can be replayed exactly when it is given the same seed
+ * The file holds a header (magic number, version, seed and player name) followed by runs of
+ * identical frames, each stored as the run length, held keys and pressed keys
+ */
+public class InputRecorder {
+    /** Number identifying a file as an input recording
+     */
+    public static final int MAGIC = 0x53545250;
+    /** Version of the recording format
+     */
+    public static final int VERSION = 1;
+
+    private static final int VAR_INT_BITS = 7;
+    private static final int VAR_INT_MASK = 0x7f;
+    private static final int VAR_INT_MORE = 0x80;
+
+    private DataOutputStream out;
+    private KeyState current = null;
+    private int run = 0;
+
+    /** Constructs an InputRecorder object, starting a new recording
+     * @param file Path of the file to record to (any existing recording is replaced)
+     * @param seed The seed of the game being recorded
+     * @param name The name of the player
+     */
+    public InputRecorder(String file, long seed, String name) {
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeUTF(name == null ? "" : name);
+        } catch (IOException e) {
+            // recording is not needed to play, so carry on without it
+            e.printStackTrace();
+            out = null;
+        }
+    }
+
+
+    /** Records the keys used in a frame
+     * @param keys The keys held down and pressed this frame
+     */
+    public void record(KeyState keys) {
+        if (current != null && current.sameAs(keys)) {
+            run++;
+            return;
+        }
+
+        writeRun();
+        current = keys;
+        run = 1;
+    }
+
+
+    /** Finishes the recording, writing any frames not yet written
+     */
+    public void close() {
+        writeRun();
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            out = null;
+        }
+    }
+
+
+    /** Writes the current run of identical frames to the file
+     */
+    private void writeRun() {
+        if (out == null || run == 0) {
+            return;
+        }
+
+        try {
+            writeVarInt(run);
+            writeVarInt(current.getHeld());
+            writeVarInt(current.getPressed());
+            // keep the file complete in case the game crashes
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+            out = null;
+        }
+    }
+
+
+    /** Writes a non-negative integer using as few bytes as possible (7 bits per byte)
+     */
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~VAR_INT_MASK) != 0) {
+            out.writeByte((value & VAR_INT_MASK) | VAR_INT_MORE);
+            value >>>= VAR_INT_BITS;
+        }
+        out.writeByte(value);
+    }
+
+
+    /** Reads an integer written by an InputRecorder
+     * @param in The recording being read
+     * @return The integer read
+     * @throws IOException If the recording could not be read
+     */
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & VAR_INT_MASK) << shift;
+            shift += VAR_INT_BITS;
+        } while ((b & VAR_INT_MORE) != 0);
+        return value;
+    }
+}
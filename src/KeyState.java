@@ -0,0 +1,127 @@
+import bagel.Input;
+import bagel.Keys;
+
+/** Class representing the keys held down and pressed during a single frame,
+ * allowing the game to be stepped (or replayed) without a bagel window
+ */
+public class KeyState {
+    /** The keys used to control gameplay, in the order they are stored
+     */
+    private static final Keys[] TRACKED = new Keys[] {Keys.UP, Keys.DOWN, Keys.LEFT, Keys.RIGHT};
+
+    /** The keys used to navigate screens and type names, in the order they are stored
+     */
+    private static final Keys[] PRESSABLE = new Keys[] {Keys.ENTER, Keys.SPACE, Keys.ESCAPE,
+            Keys.BACKSPACE, Keys.DELETE, Keys.A, Keys.B, Keys.C, Keys.D, Keys.E, Keys.F, Keys.G,
+            Keys.H, Keys.I, Keys.J, Keys.K, Keys.L, Keys.M, Keys.N, Keys.O, Keys.P, Keys.Q, Keys.R,
+            Keys.S, Keys.T, Keys.U, Keys.V, Keys.W, Keys.X, Keys.Y, Keys.Z};
+
+    /** Key state in which no keys are held down or pressed
+     */
+    public static final KeyState NONE = new KeyState(0, 0);
+
+    private final int held;
+    private final int pressed;
+
+    /** Constructs a KeyState object
+     * @param held Bitmask of the tracked keys that are held down
+     * @param pressed Bitmask of the pressable keys that were pressed this frame
+     */
+    public KeyState(int held, int pressed) {
+        this.held = held;
+        this.pressed = pressed;
+    }
+
+
+    /** Takes a snapshot of the tracked keys from the keyboard
+     * @param input The current status of the keyboard being used to control the game
+     * @return The keys held down this frame
+     */
+    public static KeyState of(Input input) {
+        int held = 0;
+        for (int i = 0; i < TRACKED.length; i++) {
+            if (input.isDown(TRACKED[i])) {
+                held |= 1 << i;
+            }
+        }
+
+        int pressed = 0;
+        for (int i = 0; i < PRESSABLE.length; i++) {
+            if (input.wasPressed(PRESSABLE[i])) {
+                pressed |= 1 << i;
+            }
+        }
+
+        if (held == 0 && pressed == 0) {
+            return NONE;
+        }
+        return new KeyState(held, pressed);
+    }
+
+
+    /** Creates a key state with the given keys held down
+     * @param keys The keys that are held down
+     * @return The resulting key state
+     */
+    public static KeyState of(Keys... keys) {
+        int held = 0;
+        for (Keys k: keys) {
+            held |= bit(TRACKED, k);
+        }
+        return new KeyState(held, 0);
+    }
+
+
+    /** Checks if a key is held down
+     * @param key The key to check
+     * @return Flag indicating if the key is held down
+     */
+    public boolean isDown(Keys key) {
+        return (held & bit(TRACKED, key)) != 0;
+    }
+
+
+    /** Checks if a key is not held down
+     * @param key The key to check
+     * @return Flag indicating if the key is not held down
+     */
+    public boolean isUp(Keys key) {
+        return !isDown(key);
+    }
+
+
+    /** Checks if a key was pressed this frame
+     * @param key The key to check
+     * @return Flag indicating if the key was pressed
+     */
+    public boolean wasPressed(Keys key) {
+        return (pressed & bit(PRESSABLE, key)) != 0;
+    }
+
+
+    /** Checks if two key states have the same keys held down and pressed
+     * @param other The key state to compare with
+     * @return Flag indicating if the key states are the same
+     */
+    public boolean sameAs(KeyState other) {
+        return held == other.held && pressed == other.pressed;
+    }
+
+
+    /** Finds the bit used to store a key
+     * @param keys The keys stored in a bitmask
+     * @param key The key to find
+     * @return Bitmask for the key, or 0 if the key is not stored
+     */
+    private static int bit(Keys[] keys, Keys key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == key) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    public int getHeld() { return held; }
+    public int getPressed() { return pressed; }
+}
@@ -0,0 +1,121 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Class which keeps the highest scores in memory so that they never need to be read from the
+ * score store on the game thread
+ * Scores of this game are added in place on the game thread, while the score writer publishes
+ * an immutable snapshot of the store's highest scores (including those of other games sharing
+ * the store) after each batch it writes, which is swapped in the next time the scores are read
+ */
+public class Leaderboard {
+    private final int CAPACITY;
+
+    // highest scores in descending order, earlier scores first when equal (game thread only)
+    private final ArrayList<Score> TOP;
+
+    // scores added here which the latest snapshot swapped in may not include, and the number of
+    // scores added before the first of them (game thread only)
+    private final ArrayList<Score> PENDING = new ArrayList<Score>();
+    private long confirmed = 0;
+
+    private volatile Snapshot published = null;
+    private Snapshot applied = null;
+
+    /** Class holding the highest scores of the store and the number of scores the writer had
+     * written to it when they were read
+     */
+    private static class Snapshot {
+        private final List<Score> TOP;
+        private final long WRITTEN;
+
+        private Snapshot(List<Score> top, long written) {
+            TOP = top;
+            WRITTEN = written;
+        }
+    }
+
+    /** Constructs a Leaderboard object
+     * @param capacity The number of highest scores to keep
+     */
+    public Leaderboard(int capacity) {
+        CAPACITY = capacity;
+        TOP = new ArrayList<Score>(capacity + 1);
+    }
+
+
+    /** Publishes the highest scores read from the store (may be called from any thread)
+     * @param top The highest scores in the store in descending order
+     * @param written The number of scores added here which the writer had finished with (written
+     *                or failed to write) when the store was read, as scores must be submitted to
+     *                the writer in the order they are added here
+     */
+    public void publish(List<Score> top, long written) {
+        published = new Snapshot(Collections.unmodifiableList(new ArrayList<Score>(top)), written);
+    }
+
+
+    /** Adds a score to the leaderboard if it is one of the highest
+     * @param score The score achieved
+     * @return Flag indicating if the score is now on the leaderboard
+     */
+    public boolean add(Score score) {
+        PENDING.add(score);
+        return insert(score);
+    }
+
+
+    /** Gets the highest scores, first swapping in the latest snapshot published
+     * @return The highest scores in descending order
+     */
+    public ArrayList<Score> getTop() {
+        swapIn();
+        return new ArrayList<Score>(TOP);
+    }
+
+
+    /** Replaces the leaderboard with the latest snapshot if it has not been used yet, keeping
+     * the scores added here which are not yet in it
+     */
+    private void swapIn() {
+        Snapshot snapshot = published;
+        if (snapshot == null || snapshot == applied) {
+            return;
+        }
+        applied = snapshot;
+
+        // forget the scores the snapshot already holds
+        int held = (int) Math.min(PENDING.size(), Math.max(0, snapshot.WRITTEN - confirmed));
+        PENDING.subList(0, held).clear();
+        confirmed += held;
+
+        TOP.clear();
+        TOP.addAll(snapshot.TOP);
+        for (Score s: PENDING) {
+            insert(s);
+        }
+    }
+
+
+    /** Inserts a score after all scores at least as high, if it is one of the highest
+     */
+    private boolean insert(Score score) {
+        if (TOP.size() == CAPACITY && score.compareTo(TOP.get(CAPACITY - 1)) >= 0) {
+            // not higher than the lowest score kept
+            return false;
+        }
+
+        int i = TOP.size();
+        while (i > 0 && score.compareTo(TOP.get(i - 1)) < 0) {
+            i--;
+        }
+        TOP.add(i, score);
+
+        if (TOP.size() > CAPACITY) {
+            TOP.remove(CAPACITY);
+        }
+        return true;
+    }
+
+    public int getCapacity() { return CAPACITY; }
+}
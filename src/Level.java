@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.util.ArrayList;
+
+/** Class holding everything read from a level's CSV files (where the taxi and driver start, the
+ * objects to be spawned and the weather), so that any number of games can be played on a level
+ * while its files are only read once
+ * A level is never changed after it is loaded, so games on different threads can share it
+ */
+public class Level {
+    private final boolean HAS_TAXI;
+    private final double TAXI_X;
+    private final double TAXI_Y;
+    private final double DRIVER_X;
+    private final double DRIVER_Y;
+    private final SpawnQueue SPAWNS;
+    private final WeatherTimeline WEATHER;
+
+    private Level(boolean hasTaxi, double taxiX, double taxiY, double driverX, double driverY,
+                  SpawnQueue spawns, WeatherTimeline weather) {
+        HAS_TAXI = hasTaxi;
+        TAXI_X = taxiX;
+        TAXI_Y = taxiY;
+        DRIVER_X = driverX;
+        DRIVER_Y = driverY;
+        SPAWNS = spawns;
+        WEATHER = weather;
+    }
+
+
+    /** Reads the game objects and weather files named in the game values
+     * @param config An object containing all game values and graphics
+     * @return The level, ready to be played
+     * @throws IOException If either file could not be read
+     * @throws LevelFormatException If either file contains an invalid row
+     */
+    public static Level load(GameConfig config) throws IOException {
+        boolean hasTaxi = false;
+        double taxiX = 0;
+        double taxiY = 0;
+        double driverX = 0;
+        double driverY = 0;
+        SpawnQueue spawns = new SpawnQueue();
+
+        try (LevelReader objects = new LevelReader(config.OBJECTS_FILE)) {
+            while (objects.next()) {
+                double x = objects.getX();
+                double y = objects.getY();
+
+                switch (objects.getType()) {
+                    case DRIVER:
+                        driverX = x;
+                        driverY = y;
+                        break;
+                    case TAXI:
+                        hasTaxi = true;
+                        taxiX = x;
+                        taxiY = y;
+                        break;
+                    case COIN:
+                    case INVINCIBLE_POWER:
+                        spawns.add(objects.getType(), x, y, 0, 0, 0, false);
+                        break;
+                    case PASSENGER:
+                        spawns.add(objects.getType(), x, y, objects.getPriority(), objects.getEndX(),
+                                objects.getDistY(), objects.hasUmbrella());
+                        break;
+                    default:
+                        throw objects.error(objects.getType() + " is not a game object");
+                }
+            }
+        }
+        spawns.sort();
+
+        ArrayList<Weather> events = new ArrayList<Weather>();
+        try (LevelReader reader = new LevelReader(config.WEATHER_FILE)) {
+            while (reader.next()) {
+                if (!reader.getType().isWeather()) {
+                    throw reader.error(reader.getType() + " is not a weather event");
+                }
+                events.add(new Weather(reader.getType().name(), reader.getStart(), reader.getEnd()));
+            }
+        }
+
+        return new Level(hasTaxi, taxiX, taxiY, driverX, driverY, spawns, new WeatherTimeline(events));
+    }
+
+
+    /** Gets the objects of the level in the order they are reached, in a queue of a game's own
+     * @return A queue which has not yet reached any objects
+     */
+    public SpawnQueue newSpawnQueue() {
+        return SPAWNS.copy();
+    }
+
+    public boolean hasTaxi() { return HAS_TAXI; }
+    public double getTaxiX() { return TAXI_X; }
+    public double getTaxiY() { return TAXI_Y; }
+    public double getDriverX() { return DRIVER_X; }
+    public double getDriverY() { return DRIVER_Y; }
+    public WeatherTimeline getWeather() { return WEATHER; }
+}
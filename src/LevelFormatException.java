@@ -0,0 +1,14 @@
+/** Exception thrown when a row of a level file is not a valid record
+ */
+public class LevelFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /** Constructs a LevelFormatException object
+     * @param file Path to the level file
+     * @param lineNumber Line of the file on which the problem was found
+     * @param message Description of the problem
+     */
+    public LevelFormatException(String file, int lineNumber, String message) {
+        super(file + ":" + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,271 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** Class which streams the rows of a level (game objects or weather) CSV file as typed records
+ * The file is read once in fixed size chunks and each row is parsed in place, so rows are never
+ * held in memory after they have been read and the reader allocates nothing per row
+ */
+public class LevelReader implements AutoCloseable {
+    /** Types of record which can appear in a level file, with the number of fields in their rows
+     */
+    public enum Type {
+        TAXI(3),
+        DRIVER(3),
+        COIN(3),
+        INVINCIBLE_POWER(3),
+        PASSENGER(7),
+        SUNNY(3),
+        RAINING(3);
+
+        private final int FIELDS;
+        private final byte[] NAME;
+
+        Type(int fields) {
+            FIELDS = fields;
+            NAME = name().getBytes();
+        }
+
+        /** Checks if this record is a weather event rather than a game object
+         */
+        public boolean isWeather() {
+            return this == SUNNY || this == RAINING;
+        }
+    }
+
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int MAX_FIELDS = 7;
+    private static final int MAX_DIGITS = 15;
+    private static final Type[] TYPES = Type.values();
+
+    private final String FILE;
+    private final FileChannel CHANNEL;
+    private final ByteBuffer CHUNK = ByteBuffer.allocateDirect(CHUNK_SIZE);
+
+    // bytes of the row being read and where each of its fields starts and ends
+    private byte[] row = new byte[256];
+    private int rowLength;
+    private final int[] FIELD_START = new int[MAX_FIELDS + 1];
+    private final int[] FIELD_END = new int[MAX_FIELDS + 1];
+    private int fieldCount;
+
+    private int lineNumber = 0;
+    private boolean endOfFile = false;
+
+    // current record
+    private Type type;
+    private final double[] VALUES = new double[MAX_FIELDS];
+
+    /** Opens a level file for reading
+     * @param file Path to the CSV file
+     * @throws IOException If the file could not be opened
+     */
+    public LevelReader(String file) throws IOException {
+        FILE = file;
+        CHANNEL = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+        CHUNK.flip();
+    }
+
+
+    /** Reads the next record in the file, skipping blank lines
+     * @return True if a record was read, false if the end of the file has been reached
+     * @throws IOException If the file could not be read
+     * @throws LevelFormatException If the row is not a valid record
+     */
+    public boolean next() throws IOException {
+        while (readRow()) {
+            lineNumber++;
+            if (rowLength > 0 || fieldCount > 1) {
+                parseRow();
+                return true;
+            }
+        }
+        type = null;
+        return false;
+    }
+
+
+    /** Copies the next line of the file (without its line ending) into the row buffer, noting
+     * where each comma separated field starts and ends
+     * @return False if there are no more lines
+     */
+    private boolean readRow() throws IOException {
+        if (endOfFile) {
+            return false;
+        }
+
+        rowLength = 0;
+        fieldCount = 0;
+        FIELD_START[0] = 0;
+
+        while (true) {
+            if (!CHUNK.hasRemaining()) {
+                CHUNK.clear();
+                int read = CHANNEL.read(CHUNK);
+                CHUNK.flip();
+                if (read < 0) {
+                    endOfFile = true;
+                    endField();
+                    return rowLength > 0 || fieldCount > 1;
+                }
+            }
+
+            byte b = CHUNK.get();
+            if (b == '\n') {
+                endField();
+                return true;
+            }
+            if (b == '\r') {
+                continue;
+            }
+            if (b == ',') {
+                endField();
+                continue;
+            }
+
+            if (rowLength == row.length) {
+                row = Arrays.copyOf(row, row.length * 2);
+            }
+            row[rowLength++] = b;
+        }
+    }
+
+
+    /** Marks the end of the current field, ignoring any fields past those a record can have
+     */
+    private void endField() {
+        if (fieldCount <= MAX_FIELDS) {
+            FIELD_END[fieldCount] = rowLength;
+        }
+        fieldCount++;
+        if (fieldCount <= MAX_FIELDS) {
+            FIELD_START[fieldCount] = rowLength;
+        }
+    }
+
+
+    /** Works out the type of the current row and parses its numeric fields
+     */
+    private void parseRow() {
+        type = findType();
+        if (fieldCount != type.FIELDS) {
+            throw error("expected " + type.FIELDS + " fields for " + type + " but found " + fieldCount);
+        }
+
+        for (int i = 1; i < fieldCount; i++) {
+            VALUES[i] = parseNumber(i);
+        }
+    }
+
+
+    /** Finds the record type named by the first field of the row
+     */
+    private Type findType() {
+        int length = FIELD_END[0] - FIELD_START[0];
+        for (Type t: TYPES) {
+            if (t.NAME.length == length && Arrays.equals(t.NAME, 0, length, row, 0, length)) {
+                return t;
+            }
+        }
+        throw error("unknown record type '" + field(0) + "'");
+    }
+
+
+    /** Parses a field of the current row as a number
+     * Whole numbers are parsed directly from the row, anything else (e.g. a fraction or an
+     * exponent) falls back to Double.parseDouble
+     */
+    private double parseNumber(int i) {
+        int pos = FIELD_START[i];
+        int end = FIELD_END[i];
+        if (pos == end) {
+            throw error("field " + (i + 1) + " of " + type + " is empty");
+        }
+
+        boolean negative = row[pos] == '-';
+        if (negative || row[pos] == '+') {
+            pos++;
+        }
+
+        if (pos == end || end - pos > MAX_DIGITS) {
+            return parseSlow(i);
+        }
+
+        long value = 0;
+        for (; pos < end; pos++) {
+            byte b = row[pos];
+            if (b < '0' || b > '9') {
+                return parseSlow(i);
+            }
+            value = value * 10 + (b - '0');
+        }
+        return negative ? -value : value;
+    }
+
+
+    /** Parses a field which is not a plain whole number
+     */
+    private double parseSlow(int i) {
+        try {
+            return Double.parseDouble(field(i));
+        } catch (NumberFormatException e) {
+            throw error("field " + (i + 1) + " of " + type + " is not a number: '" + field(i) + "'");
+        }
+    }
+
+
+    /** Copies a field of the current row into a string, used only to report errors
+     */
+    private String field(int i) {
+        return new String(row, FIELD_START[i], FIELD_END[i] - FIELD_START[i]);
+    }
+
+
+    /** Creates an exception describing a problem with the current line of the file
+     * @param message Description of the problem
+     * @return An exception giving the file and line number of the problem
+     */
+    public LevelFormatException error(String message) {
+        return new LevelFormatException(FILE, lineNumber, message);
+    }
+
+
+    /** Converts a numeric field to an integer, rejecting values with a fractional part
+     */
+    private int getInt(int i) {
+        double value = VALUES[i];
+        if (value != (int) value) {
+            throw error("field " + (i + 1) + " of " + type + " must be a whole number");
+        }
+        return (int) value;
+    }
+
+
+    /** Closes the file
+     * @throws IOException If the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    public Type getType() { return type; }
+    public int getLineNumber() { return lineNumber; }
+
+    // game objects
+    public double getX() { return VALUES[1]; }
+    public double getY() { return VALUES[2]; }
+
+    // passengers
+    public int getPriority() { return getInt(3); }
+    public int getEndX() { return getInt(4); }
+    public int getDistY() { return getInt(5); }
+    public boolean hasUmbrella() { return VALUES[6] != 0; }
+
+    // weather events
+    public int getStart() { return getInt(1); }
+    public int getEnd() { return getInt(2); }
+}
@@ -0,0 +1,49 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/** Class which keeps entities that have been removed from the game so that they can be
+ * reset and reused instead of creating new ones, counting how often this succeeds
+ * @param <T> The type of entity in the pool
+ */
+public class ObjectPool<T> {
+    private final ArrayDeque<T> FREE = new ArrayDeque<T>();
+
+    private long hits = 0;
+    private long misses = 0;
+
+    /** Takes an entity from the pool
+     * @return An entity which must be reset before use, or null if the pool is empty
+     *         and a new entity must be created
+     */
+    public T acquire() {
+        T entity = FREE.poll();
+        if (entity == null) {
+            misses++;
+        }
+        else {
+            hits++;
+        }
+        return entity;
+    }
+
+
+    /** Returns an entity to the pool once it is no longer in the game
+     * @param entity The entity to be reused later
+     */
+    public void release(T entity) {
+        FREE.push(entity);
+    }
+
+    /** Takes every entity out of the pool, e.g. so that they can be retired once the game is over
+     * @return The entities which were in the pool
+     */
+    public ArrayList<T> drain() {
+        ArrayList<T> entities = new ArrayList<T>(FREE);
+        FREE.clear();
+        return entities;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public int getFree() { return FREE.size(); }
+}
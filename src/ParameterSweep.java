@@ -0,0 +1,250 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/** Class which plays a batch of headless sessions at each point of a grid or random search over
+ * numeric game values, writing the outcomes at every point to a CSV table so that a balance
+ * change can be tuned in a single overnight run
+ * The game properties and level are read once and shared by every session, and every point is
+ * played with the same seeds so that differences between points come from the values alone
+ */
+public class ParameterSweep {
+    private final Properties GAME_PROPS;
+    private final Properties MSG_PROPS;
+    private final Level LEVEL;
+    private final Supplier<Controller> CONTROLLERS;
+    private final int THREADS;
+    private final ArrayList<Range> RANGES = new ArrayList<Range>();
+
+    private static final int DEFAULT_STEPS = 5;
+    private static final String RANDOM_ARG = "random=";
+
+    /** Constructs a ParameterSweep object
+     * @param gameProps The game values which are not swept
+     * @param msgProps An object containing all text used in the game
+     * @param level The level every session is played on
+     * @param controllers Gives the controller which plays each session
+     * @param threads The number of sessions to play at once
+     */
+    public ParameterSweep(Properties gameProps, Properties msgProps, Level level,
+                          Supplier<Controller> controllers, int threads) {
+        GAME_PROPS = gameProps;
+        MSG_PROPS = msgProps;
+        LEVEL = level;
+        CONTROLLERS = controllers;
+        THREADS = threads;
+    }
+
+
+    /** Adds a game value to the sweep
+     * @param key The key of the value in the game properties
+     * @param from The smallest value tried
+     * @param to The largest value tried
+     * @param steps The number of evenly spaced values tried in a grid search
+     * @throws IllegalArgumentException If the key is not a game value or there are no steps
+     */
+    public void addRange(String key, double from, double to, int steps) {
+        String value = GAME_PROPS.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("'" + key + "' is not a game value");
+        }
+        if (steps < 1) {
+            throw new IllegalArgumentException("'" + key + "' must be swept over at least 1 step");
+        }
+        // values which are whole numbers in the properties stay whole numbers
+        boolean whole = value.trim().matches("-?\\d+");
+        RANGES.add(new Range(key, from, to, steps, whole));
+    }
+
+
+    /** Gets every combination of the evenly spaced values of each range
+     * @return The points of the grid, each giving a value for every range in the order added
+     */
+    public List<double[]> gridPoints() {
+        List<double[]> points = new ArrayList<double[]>();
+        int[] steps = new int[RANGES.size()];
+        while (true) {
+            double[] point = new double[RANGES.size()];
+            for (int i = 0; i < point.length; i++) {
+                point[i] = RANGES.get(i).valueAt(steps[i]);
+            }
+            points.add(point);
+
+            // move to the next combination, the last range changing fastest
+            int i = steps.length - 1;
+            while (i >= 0 && ++steps[i] == RANGES.get(i).STEPS) {
+                steps[i--] = 0;
+            }
+            if (i < 0) {
+                return points;
+            }
+        }
+    }
+
+
+    /** Gets points chosen uniformly at random from the ranges
+     * @param count The number of points
+     * @param random The source of the points
+     * @return The points, each giving a value for every range in the order added
+     */
+    public List<double[]> randomPoints(int count, Random random) {
+        List<double[]> points = new ArrayList<double[]>();
+        for (int n = 0; n < count; n++) {
+            double[] point = new double[RANGES.size()];
+            for (int i = 0; i < point.length; i++) {
+                point[i] = RANGES.get(i).randomValue(random);
+            }
+            points.add(point);
+        }
+        return points;
+    }
+
+
+    /** Plays a batch of sessions with the game values of a point
+     * @param point A value for every range in the order added
+     * @param seed Seed of the first session
+     * @param sessions The number of sessions to play
+     * @return The combined outcomes of the sessions
+     * @throws IllegalArgumentException If the game values of the point are invalid
+     */
+    public BalanceSimulator.Results runPoint(double[] point, long seed, int sessions) {
+        Properties props = new Properties();
+        props.putAll(GAME_PROPS);
+        for (int i = 0; i < point.length; i++) {
+            props.setProperty(RANGES.get(i).KEY, RANGES.get(i).format(point[i]));
+        }
+
+        BalanceSimulator sim = new BalanceSimulator(new GameConfig(props), MSG_PROPS, LEVEL, CONTROLLERS, THREADS);
+        try {
+            return sim.run(seed, sessions);
+        } finally {
+            sim.shutdown();
+        }
+    }
+
+
+    /** Plays every point and writes a row of outcomes for each to a CSV file as soon as it is
+     * played, so the results of a long sweep can be read before it finishes
+     * @param points The points to play
+     * @param seed Seed of the first session of every point
+     * @param sessions The number of sessions to play at every point
+     * @param file The path of the results file
+     * @throws IOException If the file could not be written
+     */
+    public void run(List<double[]> points, long seed, int sessions, String file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file)))) {
+            for (Range range: RANGES) {
+                out.print(range.KEY + ",");
+            }
+            out.println("sessions,winRate,meanEarnings,p10Earnings,p50Earnings,p90Earnings,"
+                    + "meanFramesToTarget,passengerDied,leftScreen,driverDied,outOfTime");
+
+            for (int n = 0; n < points.size(); n++) {
+                double[] point = points.get(n);
+                BalanceSimulator.Results results = runPoint(point, seed, sessions);
+
+                for (int i = 0; i < point.length; i++) {
+                    out.print(RANGES.get(i).format(point[i]) + ",");
+                }
+                out.printf("%d,%.4f,%.2f,%.2f,%.2f,%.2f,%.1f,%d,%d,%d,%d%n", results.getSessions(),
+                        results.getWinRate(), results.getMeanEarnings(), results.getEarningsPercentile(0.1),
+                        results.getEarningsPercentile(0.5), results.getEarningsPercentile(0.9),
+                        results.getMeanFramesToTarget(), results.getLosses(Game.PASSENGER_DIED),
+                        results.getLosses(Game.LEFT_SCREEN), results.getLosses(Game.DRIVER_DIED),
+                        results.getLosses(Game.OUT_OF_TIME));
+                out.flush();
+
+                System.out.printf("point %d/%d: won %.1f%%, mean earnings %.2f%n", n + 1, points.size(),
+                        results.getWinRate() * 100, results.getMeanEarnings());
+            }
+        }
+    }
+
+
+    /** Class holding the values tried for a single game value
+     */
+    private static class Range {
+        private final String KEY;
+        private final double FROM;
+        private final double TO;
+        private final int STEPS;
+        private final boolean WHOLE;
+
+        private Range(String key, double from, double to, int steps, boolean whole) {
+            KEY = key;
+            FROM = from;
+            TO = to;
+            STEPS = steps;
+            WHOLE = whole;
+        }
+
+        private double valueAt(int step) {
+            double value = STEPS == 1 ? FROM : FROM + (TO - FROM) * step / (STEPS - 1);
+            return WHOLE ? Math.round(value) : value;
+        }
+
+        private double randomValue(Random random) {
+            double value = FROM + (TO - FROM) * random.nextDouble();
+            return WHOLE ? Math.round(value) : value;
+        }
+
+        private String format(double value) {
+            return WHOLE ? Long.toString(Math.round(value)) : Double.toString(value);
+        }
+    }
+
+
+    /** Sweeps game values and writes the outcomes at every point to a CSV file
+     * @param args The path of the results file, the number of sessions at every point, the seed
+     *             of the first session, optionally random=N to try N random points rather than
+     *             the whole grid, then a range for each game value as key=from:to or
+     *             key=from:to:steps (e.g. gameObjects.enemyCar.damage=0.25:1:4)
+     * @throws IOException If the level could not be read or the results could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("usage: ParameterSweep <results file> <sessions> <seed> [random=N] "
+                    + "key=from:to[:steps]...");
+            return;
+        }
+        String file = args[0];
+        int sessions = Integer.parseInt(args[1]);
+        long seed = Long.parseLong(args[2]);
+
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        GameConfig config = new GameConfig(gameProps);
+        Level level = Level.load(config);
+
+        // the autopilot reads only the lanes and taxi radius, which are not worth sweeping
+        ParameterSweep sweep = new ParameterSweep(gameProps, msgProps, level, () -> new Autopilot(config),
+                Runtime.getRuntime().availableProcessors());
+        int randomPoints = 0;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].startsWith(RANDOM_ARG)) {
+                randomPoints = Integer.parseInt(args[i].substring(RANDOM_ARG.length()));
+                continue;
+            }
+            String[] keyRange = args[i].split("=", 2);
+            if (keyRange.length < 2) {
+                throw new IllegalArgumentException("expected key=from:to[:steps] but found '" + args[i] + "'");
+            }
+            String[] range = keyRange[1].split(":");
+            if (range.length < 2) {
+                throw new IllegalArgumentException("expected key=from:to[:steps] but found '" + args[i] + "'");
+            }
+            int steps = range.length > 2 ? Integer.parseInt(range[2]) : DEFAULT_STEPS;
+            sweep.addRange(keyRange[0], Double.parseDouble(range[0]), Double.parseDouble(range[1]), steps);
+        }
+
+        List<double[]> points = randomPoints > 0 ? sweep.randomPoints(randomPoints, new Random(seed))
+                : sweep.gridPoints();
+        sweep.run(points, seed, sessions, file);
+    }
+}
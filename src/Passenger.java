@@ -1,14 +1,12 @@
-import bagel.Font;
-import bagel.Image;
-import bagel.util.Point;
-
 import java.util.Properties;
 
 /** Class representing a game entity which the player may collect and
  * drop off to earn money
  */
 public class Passenger extends Person {
-    private final Font FONT;
+    private final Typeface FONT;
+    private final HudText PRIORITY_TEXT;
+    private final HudText FEE_TEXT;
 
     /** Max distance between a passenger and taxi to allow pick up
      */
@@ -23,73 +21,95 @@ public class Passenger extends Person {
     private boolean arrived = false;
     private Trip trip;
 
+    // heap keeping track of the health of passengers who have not arrived, and position in it
+    private HealthTracker tracker = null;
+    private int trackerIndex = -1;
+
 
     /** Constructs a Passenger object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
-     * @param position The initial position of the passenger
+     * @param x The initial x-coord of the passenger
+     * @param y The initial y-coord of the passenger
      * @param trip The trip details associates with that passenger
      */
-    public Passenger(Properties gameProps, Properties msgProps, Point position, Trip trip) {
-        super(gameProps,
+    public Passenger(GameConfig config, Properties msgProps, double x, double y, Trip trip) {
+        super(config,
                 msgProps.getProperty("gamePlay.passengerHealth"),
-                Integer.parseInt(gameProps.getProperty("gamePlay.passengerHealth.x")),
-                Integer.parseInt(gameProps.getProperty("gamePlay.passengerHealth.y")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.passenger.walkSpeedX")),
-                new Image(gameProps.getProperty("gameObjects.passenger.image")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.passenger.radius")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.passenger.walkSpeedY")),
-                position,
-                Double.parseDouble(gameProps.getProperty("gameObjects.passenger.health")));
-
-        FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gameObjects.passenger.fontSize")));
-        TAXI_DETECT_RAD = Integer.parseInt(gameProps.getProperty("gameObjects.passenger.taxiDetectRadius"));
+                config.PASSENGER_HEALTH_X,
+                config.PASSENGER_HEALTH_Y,
+                config.PASSENGER.WALK_SPEED_X,
+                config.ASSETS.PASSENGER,
+                config.PASSENGER.RADIUS,
+                config.PASSENGER.WALK_SPEED_Y,
+                x,
+                y,
+                config.PASSENGER.HEALTH);
+
+        FONT = config.ASSETS.PASSENGER_FONT.acquire();
+        PRIORITY_TEXT = new HudText(FONT, "", 0);
+        FEE_TEXT = new HudText(FONT, "", 1);
+        TAXI_DETECT_RAD = config.PASSENGER_DETECT_RADIUS;
 
         this.trip = trip;
     }
 
 
-    // move passenger and end position in the y-direction
-
-    /** Moves the passenger and trip end in the y direction
-     * @param increase The amount the passenger moves vertically
+    /** Updates position of passenger after a collision or while walking to the end flag
      */
     @Override
-    public void moveY(int increase) {
-        super.moveY(increase);
-        trip.moveY(increase);
-    }
-
-
-    /** Updates passenger and displays passenger and trip info on screen
-     */
-    @Override
-    public void display() {
+    public void update() {
         if(getCollisionMovement() > 0) {
             // move away from site of collision
             setCollisionMovement(getCollisionMovement() - 1);
-            setPosition(new Point(getPosition().x + getDirection(), getPosition().y + getDirection()));
+            setPosition(getX() + getDirection(), getY() + getDirection());
         }
         if (droppingOff) {
             // move towards end flag
-            droppingOff = !approach(trip.getEnd().getPosition());
+            droppingOff = !approach(trip.getEnd().getX(), trip.getEnd().getY());
             if (!droppingOff) {
                 arrived = true;
                 trip.getEnd().setVisible(false);
+                if (tracker != null) {
+                    tracker.remove(this);
+                }
             }
         }
 
-        super.display();
+        super.update();
+    }
+
+
+    /** Displays passenger and trip info on screen
+     * @param camera The view through which the passenger is seen
+     */
+    @Override
+    public void display(Camera camera) {
+        super.display(camera);
 
-        if (!collected) {
+        if (!collected && camera.showsDetails()) {
             // display trip information
-            FONT.drawString(String.format("%d", trip.getPriority()),
-                    getPosition().x - PRIORITY_OFFSET, getPosition().y);
-            FONT.drawString(String.format("%.1f", trip.getEarnings()),
-                    getPosition().x - FEE_OFFSET, getPosition().y);
+            double screenX = getDrawX(camera);
+            double screenY = getDrawY(camera);
+            PRIORITY_TEXT.draw(trip.getPriority(), screenX - PRIORITY_OFFSET, screenY);
+            FEE_TEXT.draw(trip.getEarnings(), screenX - FEE_OFFSET, screenY);
+        }
+        EndFlag end = trip.getEnd();
+        if (camera.showsDetails() || camera.isOnScreen(end.getY(), end.RADIUS)) {
+            end.display(camera);
+        }
+    }
+
+
+    /** Reduces the passenger's health, updating their place in the health tracker
+     * @param damage The amount by which the passenger's health goes down
+     */
+    @Override
+    public void takeDamage(double damage) {
+        super.takeDamage(damage);
+        if (tracker != null) {
+            tracker.update(this);
         }
-        trip.getEnd().display();
     }
 
 
@@ -103,30 +123,31 @@ public class Passenger extends Person {
 
 
     /** Moves passenger towards destination
-     * @param destination The place the passenger is moving towards
+     * @param x X-coord of the place the passenger is moving towards
+     * @param y Y-coord of the place the passenger is moving towards
      * @return Flag indicating if passenger has reached destination yet
      */
-    public boolean approach(Point destination) {
+    public boolean approach(double x, double y) {
         // move in x direction
         int step = SPEED_X;
-        if (destination.x > getPosition().x) {
-            setPosition(new Point(getPosition().x + step, getPosition().y));
+        if (x > getX()) {
+            setX(getX() + step);
         }
-        else if (destination.x < getPosition().x) {
-            setPosition(new Point(getPosition().x - step, getPosition().y));
+        else if (x < getX()) {
+            setX(getX() - step);
         }
 
         // move in y direction
         step = getSpeedY();
-        if (destination.y > getPosition().y) {
-            setPosition(new Point(getPosition().x, getPosition().y + step));
+        if (y > getY()) {
+            setY(getY() + step);
         }
-        else if (destination.y < getPosition().y) {
-            setPosition(new Point(getPosition().x, getPosition().y - step));
+        else if (y < getY()) {
+            setY(getY() - step);
         }
 
         // check if reached destination
-        return destination.equals(getPosition());
+        return x == getX() && y == getY();
     }
 
 
@@ -140,10 +161,25 @@ public class Passenger extends Person {
     }
 
 
+    /** Releases the graphics and fonts used by the passenger and their trip once they have been
+     * removed from the game
+     */
+    @Override
+    public void retire() {
+        super.retire();
+        FONT.release();
+        trip.retire();
+    }
+
+
     public Trip getTrip() { return trip; }
     public boolean isCollected() { return collected; }
     public boolean isApproachTaxi() { return approachTaxi; }
     public boolean hasArrived() { return arrived; }
+    public HealthTracker getTracker() { return tracker; }
+    public int getTrackerIndex() { return trackerIndex; }
 
     public void setApproachTaxi(boolean approachTaxi) {this.approachTaxi = approachTaxi; }
+    public void setTracker(HealthTracker tracker) { this.tracker = tracker; }
+    public void setTrackerIndex(int trackerIndex) { this.trackerIndex = trackerIndex; }
 }
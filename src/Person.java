@@ -1,10 +1,3 @@
-import bagel.Font;
-import bagel.Image;
-import bagel.util.Point;
-
-import java.util.Properties;
-
-
 /** Abstract class representing all human characters (driver, passenger) in game
  * Persons have a health and may die
  */
@@ -20,13 +13,13 @@ public abstract class Person extends GameEntity implements Damagable {
     public final int HEALTH_Y;
     /** Font used to display health of person on screen
      */
-    public final Font FONT;
+    public final Typeface FONT;
 
     /** Speed that Person may move horizontally
      */
     public final int SPEED_X;
 
-    private final Image BLOOD;
+    private final Sprite BLOOD;
     private final int MAX_BLEED;
     private final static int COLLISION_TIMEOUT = 200;
     private static final int MOVE_TIMEOUT = 10;
@@ -37,12 +30,13 @@ public abstract class Person extends GameEntity implements Damagable {
     private double health;
     private int immuneFor = 0;
     private boolean dead;
-    private Point posOfDeath = null;
+    private double deathX;
+    private double deathY;
     private int collisionMovement = 0;
     private int direction;
 
     /** Constructs a Person object (must be called in constructor of subclass)
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param HEALTH Text used to display health of person on screen
      * @param HEALTH_X X-coord of person's health displayed on screen
      * @param HEALTH_Y Y-coord of person's health displayed on screen
@@ -50,39 +44,49 @@ public abstract class Person extends GameEntity implements Damagable {
      * @param SPRITE The graphic used to represent the Person
      * @param RADIUS The valid collision radius of the Person
      * @param speedY The initial vertical speed of the Person
-     * @param position The initial position speed of the Person
+     * @param x The initial x-coord of the Person
+     * @param y The initial y-coord of the Person
      * @param health The initial health points of the Person
      */
-    public Person(Properties gameProps, String HEALTH, int HEALTH_X, int HEALTH_Y, int SPEED_X,
-                  Image SPRITE, double RADIUS, int speedY, Point position, double health) {
-        super(SPRITE, RADIUS, speedY, position);
+    public Person(GameConfig config, String HEALTH, int HEALTH_X, int HEALTH_Y, int SPEED_X,
+                  Sprite SPRITE, double RADIUS, int speedY, double x, double y, double health) {
+        super(SPRITE, RADIUS, speedY, x, y);
 
         this.HEALTH = HEALTH;
         this.HEALTH_X = HEALTH_X;
         this.HEALTH_Y = HEALTH_Y;
         this.SPEED_X = SPEED_X;
 
-        FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gamePlay.info.fontSize")));
-        BLOOD = new Image(gameProps.getProperty("gameObjects.blood.image"));
-        MAX_BLEED = Integer.parseInt(gameProps.getProperty("gameObjects.blood.ttl"));
+        FONT = config.ASSETS.INFO_FONT.acquire();
+        BLOOD = config.ASSETS.BLOOD.acquire();
+        MAX_BLEED = config.BLOOD.TTL;
 
         this.health = health * DOUBLE_MULT;
     }
 
 
     /** Displays Person and their blood if dead
+     * @param camera The view through which the Person is seen
+     */
+    @Override
+    public void display(Camera camera) {
+        super.display(camera);
+        if (dead && camera.showsEffects()) {
+            // display blood
+            BLOOD.draw(deathX, camera.toDrawY(deathY));
+        }
+    }
+
+
+    /** Updates collision timeout and bleeding of Person
      */
     @Override
-    public void display() {
-        super.display();
+    public void update() {
         if (immuneFor > 0) {
             immuneFor--;
         }
         if (dead) {
-            // display blood
             bleedingFor--;
-            BLOOD.draw(posOfDeath.x, posOfDeath.y);
         }
     }
 
@@ -105,7 +109,8 @@ public abstract class Person extends GameEntity implements Damagable {
     public void die() {
         dead = true;
         bleedingFor = MAX_BLEED;
-        posOfDeath = new Point(getPosition().x, getPosition().y);
+        deathX = getX();
+        deathY = getY();
     }
 
 
@@ -115,7 +120,7 @@ public abstract class Person extends GameEntity implements Damagable {
     @Override
     public void moveAway(Collidable c) {
         collisionMovement = MOVE_TIMEOUT;
-        if (c.getPosition().y > getPosition().y) {
+        if (c.getY() > getY()) {
             direction = -MOVE_SPEED;
         }
         else {
@@ -124,14 +129,6 @@ public abstract class Person extends GameEntity implements Damagable {
     }
 
 
-    /** Updates position of blood spot
-     * @param increase Amount by which position of blood changes vertically
-     */
-    public void incPosOfDeath(int increase) {
-        posOfDeath = new Point(posOfDeath.x, posOfDeath.y + increase);
-    }
-
-
     /** Checks if Person is in collision timeout or in taxi
      * @return Flag representing vulnerability status of Person
      */
@@ -148,6 +145,16 @@ public abstract class Person extends GameEntity implements Damagable {
         immuneFor = COLLISION_TIMEOUT;
     }
 
+
+    /** Releases the graphics and font used by the Person once they have been removed from the game
+     */
+    @Override
+    public void retire() {
+        super.retire();
+        BLOOD.release();
+        FONT.release();
+    }
+
     public boolean isDead() { return dead; }
     public int getBleedingFor() { return bleedingFor; }
     public double getHealth()  { return health; }
@@ -1,6 +1,3 @@
-import bagel.Image;
-import bagel.util.Point;
-
 /** Abstract class giving functionality to game objects which may be
  * collected by character to give special abilities
  */
@@ -16,10 +13,11 @@ public abstract class Powerup extends GameEntity {
      * @param SPRITE The graphic used to represent the Powerup
      * @param RADIUS The valid pick-up radius of the Powerup
      * @param MAX_FRAMES The number of frames that the powerup lasts
-     * @param position The initial position of the Powerup
+     * @param x The initial x-coord of the Powerup
+     * @param y The initial y-coord of the Powerup
      */
-    public Powerup(Image SPRITE, double RADIUS, int MAX_FRAMES, Point position) {
-        super(SPRITE, RADIUS, 0, position);
+    public Powerup(Sprite SPRITE, double RADIUS, int MAX_FRAMES, double x, double y) {
+        super(SPRITE, RADIUS, 0, x, y);
         this.MAX_FRAMES = MAX_FRAMES;
 
         remFrames = MAX_FRAMES;
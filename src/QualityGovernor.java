@@ -0,0 +1,89 @@
+/** Class which lowers the amount of optional drawing (effects, passenger labels and distant end
+ * flags) when frames take longer than their budget, and raises it again once they are fast
+ * Decisions use a moving average of the time spent on each frame, with a lower threshold for
+ * raising the quality than for lowering it and a minimum time between changes, so that the
+ * quality does not flap between levels
+ */
+public class QualityGovernor {
+    // quality levels, from the most to the least drawn
+    public static final int FULL = 0;
+    public static final int REDUCED = 1;
+    public static final int LOW = 2;
+    private static final String[] LEVEL_NAMES = new String[] {"FULL", "REDUCED", "LOW"};
+
+    // weight of the latest frame in the moving average
+    private static final double SMOOTHING = 0.05;
+    // fraction of the budget the average must stay under before the quality is raised
+    private static final double RAISE_FRACTION = 0.6;
+    // frames after a change before the quality may change again, and for which the average must
+    // stay under the raise threshold before the quality is raised
+    private static final int HOLD_FRAMES = 90;
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final boolean ENABLED;
+    private final double BUDGET_NANOS;
+    private final String[] LEVEL_TEXT = new String[LEVEL_NAMES.length];
+
+    private double average = 0;
+    private int level = FULL;
+    // frames since the quality last changed, and for which the average has been fast
+    private int held = 0;
+    private int fastFor = 0;
+
+    /** Constructs a QualityGovernor object
+     * @param config An object containing all game values and graphics
+     * @param prefix Text shown before the name of the quality level
+     */
+    public QualityGovernor(GameConfig config, String prefix) {
+        ENABLED = config.ADAPTIVE_QUALITY;
+        BUDGET_NANOS = config.FRAME_BUDGET_MILLIS * NANOS_PER_MILLI;
+        for (int i = 0; i < LEVEL_NAMES.length; i++) {
+            LEVEL_TEXT[i] = prefix + LEVEL_NAMES[i];
+        }
+    }
+
+
+    /** Adds the time taken by a frame to the moving average, changing the quality level if
+     * frames have been consistently too slow or fast enough
+     * @param frameNanos The time spent on the frame in nanoseconds
+     * @return The quality level at which the next frame is drawn
+     */
+    public int record(long frameNanos) {
+        if (!ENABLED) {
+            return level;
+        }
+
+        average = average == 0 ? frameNanos : average + (frameNanos - average) * SMOOTHING;
+        held++;
+        fastFor = average < BUDGET_NANOS * RAISE_FRACTION ? fastFor + 1 : 0;
+        if (held < HOLD_FRAMES) {
+            return level;
+        }
+
+        if (average > BUDGET_NANOS && level < LOW) {
+            changeLevel(level + 1);
+        }
+        else if (fastFor >= HOLD_FRAMES && level > FULL) {
+            changeLevel(level - 1);
+        }
+        return level;
+    }
+
+
+    /** Moves to a new quality level and restarts the time before the next change
+     */
+    private void changeLevel(int newLevel) {
+        level = newLevel;
+        held = 0;
+        fastFor = 0;
+    }
+
+
+    /** Gets the text naming the current quality level
+     */
+    public String getLevelText() { return LEVEL_TEXT[level]; }
+
+    public boolean isEnabled() { return ENABLED; }
+    public int getLevel() { return level; }
+    public double getAverageMillis() { return average / NANOS_PER_MILLI; }
+}
@@ -0,0 +1,151 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Properties;
+
+/** Class which plays back a game recorded by an InputRecorder without a window and as fast as
+ * possible, giving a repeatable workload for profiling and for reproducing reported problems
+ */
+public class Replay implements Controller {
+    private final long SEED;
+    private final String NAME;
+    private final ArrayList<KeyState> STATES;
+    private final ArrayList<Integer> RUNS;
+    // frame at which each run of keys ends
+    private final int[] RUN_ENDS;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private int framesPlayed = 0;
+    private int status = Game.PLAY;
+
+    private Replay(long seed, String name, ArrayList<KeyState> states, ArrayList<Integer> runs) {
+        SEED = seed;
+        NAME = name;
+        STATES = states;
+        RUNS = runs;
+
+        RUN_ENDS = new int[runs.size()];
+        int frame = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            frame += runs.get(i);
+            RUN_ENDS[i] = frame;
+        }
+    }
+
+
+    /** Reads a recording from a file
+     * @param file Path of the recording
+     * @return The recorded game, ready to be played
+     * @throws IOException If the file could not be read or is not a recording
+     */
+    public static Replay load(String file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC) {
+                throw new IOException(file + " is not an input recording");
+            }
+            int version = in.readUnsignedByte();
+            if (version != InputRecorder.VERSION) {
+                throw new IOException(file + " has unsupported recording version " + version);
+            }
+            long seed = in.readLong();
+            String name = in.readUTF();
+
+            ArrayList<KeyState> states = new ArrayList<KeyState>();
+            ArrayList<Integer> runs = new ArrayList<Integer>();
+            while (true) {
+                int run;
+                try {
+                    run = InputRecorder.readVarInt(in);
+                } catch (EOFException e) {
+                    // end of recording
+                    break;
+                }
+                int held = InputRecorder.readVarInt(in);
+                int pressed = InputRecorder.readVarInt(in);
+                runs.add(run);
+                states.add(new KeyState(held, pressed));
+            }
+            return new Replay(seed, name, states, runs);
+        }
+    }
+
+
+    /** Plays the recorded frames until the recording ends or the game is won or lost
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @return The game that was played, in its final state with its graphics released
+     */
+    public Game play(GameConfig config, Properties msgProps) {
+        Game game = new Game(config, msgProps, true, SEED);
+        framesPlayed = 0;
+        status = Game.PLAY;
+
+        for (int i = 0; i < STATES.size() && status == Game.PLAY; i++) {
+            KeyState keys = STATES.get(i);
+            for (int j = RUNS.get(i); j > 0 && status == Game.PLAY; j--) {
+                status = game.playGame(keys);
+                framesPlayed++;
+            }
+        }
+
+        game.release();
+        return game;
+    }
+
+    /** Gets the keys recorded in a given frame, so the recording can drive a game with a
+     * different seed
+     * @param frame The number of frames since the game started
+     * @return The keys held down in that frame, or no keys once the recording has ended
+     */
+    public KeyState getInput(int frame) {
+        int run = Arrays.binarySearch(RUN_ENDS, frame);
+        // a frame equal to the end of a run belongs to the next run
+        run = run >= 0 ? run + 1 : -run - 1;
+        return run < STATES.size() ? STATES.get(run) : KeyState.NONE;
+    }
+
+    /** Chooses the keys recorded for the next frame of a game
+     * @param game The game being played, in its state before the frame
+     * @return The keys held down in the frame
+     */
+    @Override
+    public KeyState nextInput(Game game) {
+        return getInput(game.getFramesPlayed());
+    }
+
+    public long getSeed() { return SEED; }
+    public String getName() { return NAME; }
+    public int getFramesPlayed() { return framesPlayed; }
+    public int getStatus() { return status; }
+
+
+    /** Replays a recording and reports how quickly it was played
+     * @param args Optionally, the path of the recording (otherwise the file games are
+     *             recorded to)
+     * @throws IOException If the recording could not be read
+     */
+    public static void main(String[] args) throws IOException {
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        GameConfig config = new GameConfig(gameProps);
+
+        String file = args.length > 0 ? args[0] : config.RECORDING_FILE;
+        Replay replay = load(file);
+
+        long start = System.nanoTime();
+        Game game = replay.play(config, msgProps);
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        String result = replay.getStatus() == Game.WIN ? "won"
+                : replay.getStatus() == Game.LOSE ? "lost" : "unfinished";
+        System.out.printf("replayed %s (seed %d, player '%s')%n", file, replay.getSeed(), replay.getName());
+        System.out.printf("%d frames in %.3fs: %.0f frames/s%n",
+                replay.getFramesPlayed(), seconds, replay.getFramesPlayed() / seconds);
+        System.out.printf("game %s with earnings %.2f%n", result, game.getTotalEarnings());
+    }
+}
@@ -0,0 +1,452 @@
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/** Class storing every score in a compact binary file which is memory mapped, with an index
+ * ordered by score so that the highest scores and the rank of a player can be found quickly
+ * The file is locked while it is read or written, so several games running on one machine
+ * can share it (each process should only open a file once)
+ * The file holds a header (magic number, version and record count) followed by fixed size
+ * records, each holding a score and a name
+ */
+public class ScoreStore implements AutoCloseable {
+    private static final int MAGIC = 0x53545344;
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int VERSION_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+
+    private static final int NAME_BYTES = 22;
+    private static final int RECORD_SIZE = 32;
+    private static final int NAME_LENGTH_OFFSET = 8;
+    private static final int NAME_OFFSET = 10;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int IMPORT_BATCH = 4096;
+
+    private final RandomAccessFile FILE;
+    private final FileChannel CHANNEL;
+    private final boolean CREATED;
+
+    private MappedByteBuffer map;
+    private long capacity = 0;
+
+    // index of all records, ordered by score (descending, earlier records first when equal)
+    // it is a treap stored in arrays indexed by record, each node holding the size of its subtree,
+    // so adding a record and counting the scores above a score take O(log n) time
+    private static final int NONE = -1;
+    private int count = 0;
+    private int root = NONE;
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private int[] lefts = new int[INITIAL_CAPACITY];
+    private int[] rights = new int[INITIAL_CAPACITY];
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    // the two trees left by the last split
+    private int splitBefore;
+    private int splitAfter;
+    private final HashMap<String, Double> BEST = new HashMap<String, Double>();
+
+    /** Constructs a ScoreStore object, opening (or creating) the store and indexing every
+     * score in it
+     * @param file Path of the store
+     * @throws IOException If the file could not be opened or is not a score store
+     */
+    public ScoreStore(String file) throws IOException {
+        FILE = new RandomAccessFile(file, "rw");
+        CHANNEL = FILE.getChannel();
+
+        boolean created = false;
+        FileLock lock = CHANNEL.lock();
+        try {
+            if (CHANNEL.size() == 0) {
+                // new store, write the header
+                remap(INITIAL_CAPACITY);
+                map.putInt(0, MAGIC);
+                map.putInt(VERSION_OFFSET, VERSION);
+                map.putLong(COUNT_OFFSET, 0);
+                created = true;
+            }
+            else {
+                remap(Math.max(INITIAL_CAPACITY, (CHANNEL.size() - HEADER_SIZE) / RECORD_SIZE));
+                if (map.getInt(0) != MAGIC) {
+                    throw new IOException(file + " is not a score store");
+                }
+                if (map.getInt(VERSION_OFFSET) != VERSION) {
+                    throw new IOException(file + " has unsupported version " + map.getInt(VERSION_OFFSET));
+                }
+                indexNewRecords();
+            }
+        } finally {
+            lock.release();
+        }
+        CREATED = created;
+    }
+
+
+    /** Appends scores to the end of the store
+     * @param newScores The scores to add
+     * @throws IOException If the store could not be written
+     */
+    public synchronized void append(List<Score> newScores) throws IOException {
+        FileLock lock = CHANNEL.lock();
+        try {
+            // other games may have added scores since they were last read
+            indexNewRecords();
+
+            long total = map.getLong(COUNT_OFFSET);
+            if (total + newScores.size() > capacity) {
+                remap(Math.max(capacity * 2, total + newScores.size()));
+            }
+
+            for (Score s: newScores) {
+                writeRecord(total++, s);
+            }
+            // records are only counted once they have been completely written
+            map.putLong(COUNT_OFFSET, total);
+            indexNewRecords();
+        } finally {
+            lock.release();
+        }
+    }
+
+
+    /** Reads any scores added by other games since the store was last read
+     * @throws IOException If the store could not be read
+     */
+    public synchronized void refresh() throws IOException {
+        FileLock lock = CHANNEL.lock(0, Long.MAX_VALUE, true);
+        try {
+            indexNewRecords();
+        } finally {
+            lock.release();
+        }
+    }
+
+
+    /** Forces all appended scores to storage
+     */
+    public synchronized void sync() {
+        map.force();
+    }
+
+
+    /** Gets the highest scores
+     * @param n The maximum number of scores to get
+     * @return The highest scores in descending order
+     */
+    public synchronized ArrayList<Score> getTop(int n) {
+        ArrayList<Score> top = new ArrayList<Score>();
+        for (int i = 0; i < n && i < count; i++) {
+            top.add(readRecord(select(i)));
+        }
+        return top;
+    }
+
+
+    /** Finds the position of a player's best score among all scores
+     * @param name The name of the player
+     * @return The rank of the player (1 being the highest score), or 0 if they have no score
+     */
+    public synchronized int getRank(String name) {
+        Double best = BEST.get(name);
+        if (best == null) {
+            return 0;
+        }
+        return countAbove(best) + 1;
+    }
+
+    public synchronized int getCount() { return count; }
+    public boolean isCreated() { return CREATED; }
+
+
+    /** Releases the store
+     * @throws IOException If the store could not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!CHANNEL.isOpen()) {
+            return;
+        }
+        map.force();
+        CHANNEL.close();
+        FILE.close();
+    }
+
+
+    /** Adds records written since the index was last updated to the index
+     * (the file must be locked)
+     */
+    private void indexNewRecords() throws IOException {
+        long total = map.getLong(COUNT_OFFSET);
+        if (total > capacity) {
+            remap(total);
+        }
+
+        if (total == count) {
+            return;
+        }
+
+        if (total > scores.length) {
+            // grow the index geometrically, so records are only copied a few times in all
+            int length = (int) Math.max(total, scores.length * 2L);
+            scores = Arrays.copyOf(scores, length);
+            lefts = Arrays.copyOf(lefts, length);
+            rights = Arrays.copyOf(rights, length);
+            sizes = Arrays.copyOf(sizes, length);
+        }
+
+        for (int record = count; record < total; record++) {
+            Score s = readRecord(record);
+            scores[record] = s.SCORE;
+            lefts[record] = NONE;
+            rights[record] = NONE;
+            sizes[record] = 1;
+            root = insert(root, record);
+
+            Double best = BEST.get(s.NAME);
+            if (best == null || s.SCORE > best) {
+                BEST.put(s.NAME, s.SCORE);
+            }
+        }
+        count = (int) total;
+    }
+
+
+    /** Adds a record to a subtree of the index
+     * @return The root of the subtree
+     */
+    private int insert(int node, int record) {
+        if (node == NONE) {
+            return record;
+        }
+        if (priority(record) > priority(node)) {
+            // the record becomes the root, holding the nodes before it on its left
+            split(node, record);
+            lefts[record] = splitBefore;
+            rights[record] = splitAfter;
+            resize(record);
+            return record;
+        }
+
+        if (isBefore(record, node)) {
+            lefts[node] = insert(lefts[node], record);
+        }
+        else {
+            rights[node] = insert(rights[node], record);
+        }
+        sizes[node]++;
+        return node;
+    }
+
+
+    /** Splits a subtree of the index into the nodes before a record and the nodes after it
+     * (leaving the roots in splitBefore and splitAfter)
+     */
+    private void split(int node, int record) {
+        if (node == NONE) {
+            splitBefore = NONE;
+            splitAfter = NONE;
+            return;
+        }
+        if (isBefore(node, record)) {
+            split(rights[node], record);
+            rights[node] = splitBefore;
+            splitBefore = node;
+        }
+        else {
+            split(lefts[node], record);
+            lefts[node] = splitAfter;
+            splitAfter = node;
+        }
+        resize(node);
+    }
+
+
+    /** Finds the record at a position in the index
+     */
+    private int select(int position) {
+        int node = root;
+        while (true) {
+            int before = sizeOf(lefts[node]);
+            if (position < before) {
+                node = lefts[node];
+            }
+            else if (position == before) {
+                return node;
+            }
+            else {
+                position -= before + 1;
+                node = rights[node];
+            }
+        }
+    }
+
+
+    /** Counts the scores in the index which are strictly higher than a score
+     */
+    private int countAbove(double score) {
+        int above = 0;
+        int node = root;
+        while (node != NONE) {
+            if (scores[node] > score) {
+                above += sizeOf(lefts[node]) + 1;
+                node = rights[node];
+            }
+            else {
+                node = lefts[node];
+            }
+        }
+        return above;
+    }
+
+
+    /** Checks whether a record comes before another in the index
+     */
+    private boolean isBefore(int record, int other) {
+        return scores[record] > scores[other] || (scores[record] == scores[other] && record < other);
+    }
+
+
+    /** Gets the treap priority of a record, which is a hash of it so the index needs no random
+     * source and is always built the same way
+     */
+    private static int priority(int record) {
+        int h = record * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+
+    private void resize(int node) {
+        sizes[node] = sizeOf(lefts[node]) + sizeOf(rights[node]) + 1;
+    }
+
+
+    private int sizeOf(int node) {
+        return node == NONE ? 0 : sizes[node];
+    }
+
+
+    /** Maps enough of the file to hold a number of records, growing the file if needed
+     */
+    private void remap(long records) throws IOException {
+        capacity = records;
+        map = CHANNEL.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * RECORD_SIZE);
+    }
+
+
+    private Score readRecord(long record) {
+        int offset = (int) (HEADER_SIZE + record * RECORD_SIZE);
+        double score = map.getDouble(offset);
+        byte[] name = new byte[map.getShort(offset + NAME_LENGTH_OFFSET)];
+        map.get(offset + NAME_OFFSET, name);
+        return new Score(new String(name, StandardCharsets.UTF_8), score);
+    }
+
+
+    private void writeRecord(long record, Score s) {
+        int offset = (int) (HEADER_SIZE + record * RECORD_SIZE);
+        byte[] name = encodeName(s.NAME);
+        map.putDouble(offset, s.SCORE);
+        map.putShort(offset + NAME_LENGTH_OFFSET, (short) name.length);
+        map.put(offset + NAME_OFFSET, name);
+    }
+
+
+    /** Shortens a name the same way it is shortened when it is stored
+     * @param name The name of the player
+     * @return The name as it will be read back from the store
+     */
+    public static String storedName(String name) {
+        return new String(encodeName(name), StandardCharsets.UTF_8);
+    }
+
+
+    /** Encodes a name, shortening it so that it fits in a record
+     */
+    private static byte[] encodeName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > NAME_BYTES) {
+            name = name.substring(0, name.length() - 1);
+            bytes = name.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+
+    /** Copies every score in a scores file (each line holding a name and score) into a store
+     * @param csvFile Path of the scores file
+     * @param store The store to copy the scores into
+     * @return The number of scores copied
+     * @throws IOException If the store could not be written
+     */
+    public static int importCsv(String csvFile, ScoreStore store) throws IOException {
+        int imported = 0;
+        int skipped = 0;
+        ArrayList<Score> batch = new ArrayList<Score>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(csvFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                String[] s = line.split(",");
+                try {
+                    batch.add(new Score(s[0], Double.parseDouble(s[1])));
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    skipped++;
+                    continue;
+                }
+
+                if (batch.size() == IMPORT_BATCH) {
+                    store.append(batch);
+                    imported += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (FileNotFoundException e) {
+            // nothing to import
+            return 0;
+        }
+
+        store.append(batch);
+        imported += batch.size();
+        store.sync();
+
+        if (skipped > 0) {
+            System.err.printf("Skipped %d invalid lines in %s%n", skipped, csvFile);
+        }
+        return imported;
+    }
+
+
+    /** Imports a scores file into a score store
+     * @param args The path of the scores file and the path of the store
+     * @throws IOException If either file could not be used
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ScoreStore <scores.csv> <scores store>");
+            return;
+        }
+
+        try (ScoreStore store = new ScoreStore(args[1])) {
+            int imported = importCsv(args[0], store);
+            System.out.printf("imported %d scores, %d in store%n", imported, store.getCount());
+        }
+    }
+}
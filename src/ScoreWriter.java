@@ -0,0 +1,167 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/** Class which appends scores to the score store on a background thread, so that the game
+ * loop never waits for storage
+ * Scores waiting in the queue are written together, and written data is forced to storage
+ * according to the chosen sync policy
+ * The highest scores in the store, including those added by other games sharing it, are
+ * published to the leaderboard when the thread starts and after each batch is written
+ */
+public class ScoreWriter {
+    /** Sync policy forcing every batch of scores to storage as soon as it is written
+     */
+    public static final String SYNC_ALWAYS = "always";
+    /** Sync policy forcing scores to storage at most once per sync interval
+     */
+    public static final String SYNC_INTERVAL = "interval";
+    /** Sync policy leaving the operating system to decide when scores reach storage
+     */
+    public static final String SYNC_NEVER = "never";
+
+    private static final long NANOS_PER_MILLI = 1000000;
+
+    // marks the end of the queue when the writer is closed
+    private static final Score STOP = new Score("", 0);
+
+    private final ScoreStore STORE;
+    private final Leaderboard LEADERBOARD;
+    private final String SYNC_POLICY;
+    private final long SYNC_INTERVAL_NANOS;
+    private final BlockingQueue<Score> QUEUE;
+    private final Thread THREAD;
+
+    private volatile boolean closed = false;
+    private long lastSync = System.nanoTime();
+    private long scoresWritten = 0;
+    // scores taken from the queue, whether or not they could be written
+    private long scoresTaken = 0;
+    private long batchesWritten = 0;
+
+    /** Constructs a ScoreWriter object and starts its background thread
+     * @param store The store which scores are appended to
+     * @param queueSize The number of scores which may wait to be written before
+     *                  submitting another score blocks
+     * @param syncPolicy When written scores are forced to storage (SYNC_ALWAYS,
+     *                   SYNC_INTERVAL or SYNC_NEVER)
+     * @param syncIntervalMillis Minimum time between syncs for the SYNC_INTERVAL policy
+     * @param leaderboard The leaderboard the highest scores are published to
+     */
+    public ScoreWriter(ScoreStore store, int queueSize, String syncPolicy, long syncIntervalMillis,
+                       Leaderboard leaderboard) {
+        STORE = store;
+        LEADERBOARD = leaderboard;
+        SYNC_POLICY = syncPolicy;
+        SYNC_INTERVAL_NANOS = syncIntervalMillis * NANOS_PER_MILLI;
+        QUEUE = new ArrayBlockingQueue<Score>(queueSize);
+
+        THREAD = new Thread(this::run, "score-writer");
+        THREAD.setDaemon(true);
+        THREAD.start();
+    }
+
+
+    /** Queues a name and score to be appended to the score store
+     * @param name The name of the player
+     * @param score The score the player achieved
+     */
+    public void submit(String name, double score) {
+        if (closed) {
+            throw new IllegalStateException("score writer has been closed");
+        }
+
+        try {
+            QUEUE.put(new Score(name, score));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /** Writes all queued scores, forces them to storage and stops the background thread
+     * (further calls do nothing)
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            QUEUE.put(STOP);
+            THREAD.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /** Writes queued scores in batches until the writer is closed
+     */
+    private void run() {
+        try {
+            STORE.refresh();
+        } catch (IOException e) {
+            // publish the scores read when the store was opened
+            e.printStackTrace();
+        }
+        publish();
+
+        ArrayList<Score> batch = new ArrayList<Score>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                // wait for a score, then take every other score already waiting
+                batch.add(QUEUE.take());
+                QUEUE.drainTo(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            stopping = batch.remove(STOP);
+            try {
+                STORE.append(batch);
+                scoresWritten += batch.size();
+                batchesWritten++;
+
+                if (shouldSync(stopping)) {
+                    STORE.sync();
+                    lastSync = System.nanoTime();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            scoresTaken += batch.size();
+            batch.clear();
+            publish();
+        }
+    }
+
+
+    /** Publishes the highest scores in the store, which appending has already brought up to
+     * date with scores added by other games
+     */
+    private void publish() {
+        LEADERBOARD.publish(STORE.getTop(LEADERBOARD.getCapacity()), scoresTaken);
+    }
+
+
+    /** Checks if written scores should be forced to storage now
+     * @param stopping Flag indicating the writer is being closed
+     */
+    private boolean shouldSync(boolean stopping) {
+        if (SYNC_POLICY.equals(SYNC_NEVER)) {
+            return stopping;
+        }
+        if (SYNC_POLICY.equals(SYNC_INTERVAL)) {
+            return stopping || System.nanoTime() - lastSync >= SYNC_INTERVAL_NANOS;
+        }
+        return true;
+    }
+
+    public long getScoresWritten() { return scoresWritten; }
+    public long getBatchesWritten() { return batchesWritten; }
+}
@@ -1,20 +1,19 @@
-import bagel.Font;
-import bagel.Image;
-import bagel.Window;
-
 /** Abstract class representing all non-playable screens displaying game information
  *
  */
 public abstract class Screen implements Displayable{
-    private Image BACKGROUND;
-    private double WIDTH = Window.getWidth();
-    private double HEIGHT = Window.getHeight();
+    private Sprite BACKGROUND;
+    private double WIDTH;
+    private double HEIGHT;
 
     /** Constructs Screen object (must be called in constructor of subclass)
+     * @param config An object containing all game values and graphics
      * @param background Background image of screen
      */
-    public Screen(String background) {
-        BACKGROUND = new Image(background);
+    public Screen(GameConfig config, Sprite background) {
+        BACKGROUND = background.acquire();
+        WIDTH = config.WINDOW_WIDTH;
+        HEIGHT = config.WINDOW_HEIGHT;
     }
 
     /** Finds x-coordinate needed to centre text
@@ -22,7 +21,7 @@ public abstract class Screen implements Displayable{
      * @param font Font that text will be displayed in
      * @return X-coordinate of centred text
      */
-    protected double centre(String text, Font font) {
+    protected double centre(String text, Typeface font) {
         return (WIDTH - font.getWidth(text))/2.0;
     }
 
@@ -1,4 +1,5 @@
 import bagel.*;
+import java.io.IOException;
 import java.util.Properties;
 
 /**
@@ -7,8 +8,11 @@ import java.util.Properties;
  * @author Alice Kjar
  */
 public class ShadowTaxi extends AbstractGame {
-    private final Properties GAME_PROPS;
+    private final GameConfig CONFIG;
     private final Properties MESSAGE_PROPS;
+    private final ScoreStore SCORE_STORE;
+    private final Leaderboard LEADERBOARD;
+    private final ScoreWriter SCORE_WRITER;
 
     // screen being displayed
     private static final int HOME = 1;
@@ -20,6 +24,7 @@ public class ShadowTaxi extends AbstractGame {
     private static final int PLAY = 0;
 
     private static final String NO_NAME = "";
+    private static final int MAX_SCORES = 5;
 
     private String name;
     private int screen = HOME;
@@ -31,20 +36,29 @@ public class ShadowTaxi extends AbstractGame {
     private EndScreen end;
     private InfoScreen info;
     private Game game;
+    private InputRecorder recorder = null;
+    // plays the game in place of the keyboard, null if the player is in control
+    private final Controller AUTOPILOT;
 
-    public ShadowTaxi(Properties gameProps, Properties messageProps) {
-        super(Integer.parseInt(gameProps.getProperty("window.width")),
-                Integer.parseInt(gameProps.getProperty("window.height")),
-                messageProps.getProperty("home.title"));
+    public ShadowTaxi(GameConfig config, Properties messageProps) {
+        super(config.WINDOW_WIDTH, config.WINDOW_HEIGHT, messageProps.getProperty("home.title"));
 
-        this.GAME_PROPS = gameProps;
+        this.CONFIG = config;
         this.MESSAGE_PROPS = messageProps;
 
+        // load all graphics and fonts before any are needed
+        AssetRegistry.getInstance().preload(CONFIG);
+
         // initialise game screens
-        home = new HomeScreen(GAME_PROPS, MESSAGE_PROPS);
-        info = new InfoScreen(GAME_PROPS, MESSAGE_PROPS);
-        game = new Game(GAME_PROPS, MESSAGE_PROPS);
-        end = new EndScreen(GAME_PROPS, MESSAGE_PROPS);
+        home = new HomeScreen(CONFIG, MESSAGE_PROPS);
+        info = new InfoScreen(CONFIG, MESSAGE_PROPS);
+        game = new Game(CONFIG, MESSAGE_PROPS);
+        SCORE_STORE = openScoreStore(CONFIG);
+        LEADERBOARD = new Leaderboard(MAX_SCORES);
+        SCORE_WRITER = new ScoreWriter(SCORE_STORE, CONFIG.SCORES_QUEUE_SIZE,
+                CONFIG.SCORES_SYNC, CONFIG.SCORES_SYNC_INTERVAL, LEADERBOARD);
+        end = new EndScreen(CONFIG, MESSAGE_PROPS, LEADERBOARD);
+        AUTOPILOT = CONFIG.AUTOPILOT ? new Autopilot(CONFIG) : null;
     }
 
     /**
@@ -57,7 +71,9 @@ public class ShadowTaxi extends AbstractGame {
 
         if (input.wasPressed(Keys.ESCAPE)){
             // exit game
+            shutdown();
             Window.close();
+            return;
         }
 
         if (screen == HOME) {
@@ -65,7 +81,8 @@ public class ShadowTaxi extends AbstractGame {
             if (newGame) {
                 // reset game data
                 info.setName(NO_NAME);
-                game = new Game(GAME_PROPS, MESSAGE_PROPS);
+                game.release();
+                game = new Game(CONFIG, MESSAGE_PROPS);
                 newGame = false;
             }
 
@@ -83,14 +100,25 @@ public class ShadowTaxi extends AbstractGame {
 
             if (input.wasPressed(Keys.ENTER)) {
                 screen = GAME;
+                if (CONFIG.RECORDING_FILE != null) {
+                    recorder = new InputRecorder(CONFIG.RECORDING_FILE, game.getSeed(), name);
+                }
             }
         }
 
         else if (screen == GAME) {
-            status = game.playGame(input, name);
+            KeyState keys = KeyState.of(input);
+            status = game.playFrame(g -> nextInput(g, keys), System.nanoTime());
 
             if (status != PLAY) {
                 // game over
+                stopRecording();
+                writeProfile();
+                // game over, save name and score (shortened as the store will shorten it, so it
+                // does not change when the writer next publishes the scores)
+                String storedName = ScoreStore.storedName(name);
+                LEADERBOARD.add(new Score(storedName, game.getTotalEarnings()));
+                SCORE_WRITER.submit(storedName, game.getTotalEarnings());
                 end.setStatus(status);
                 screen = END;
             }
@@ -110,15 +138,94 @@ public class ShadowTaxi extends AbstractGame {
     }
 
 
+    /** Chooses the keys held down in a tick of the game, recording them if the game is being
+     * recorded so that replays play back tick for tick
+     * @param game The game being played
+     * @param keys The keys held down on the keyboard this frame
+     * @return The keys held down in the tick
+     */
+    private KeyState nextInput(Game game, KeyState keys) {
+        if (AUTOPILOT != null) {
+            keys = AUTOPILOT.nextInput(game);
+        }
+        if (recorder != null) {
+            recorder.record(keys);
+        }
+        return keys;
+    }
+
+
+    /** Finishes recording the current game, if it is being recorded
+     */
+    private void stopRecording() {
+        if (recorder != null) {
+            recorder.close();
+            recorder = null;
+        }
+    }
+
+
+    /** Writes the frame timings of the current game, if they are being kept
+     */
+    private void writeProfile() {
+        if (CONFIG.PROFILE_FILE != null) {
+            try {
+                game.getProfiler().writeReport(CONFIG.PROFILE_FILE);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+
+    /** Finishes recording and saves all scores before the program exits
+     */
+    private void shutdown() {
+        stopRecording();
+        SCORE_WRITER.close();
+        try {
+            SCORE_STORE.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+
+    /** Opens the score store, copying in the scores file the first time it is opened
+     * @param config An object containing all game values and graphics
+     * @return The opened score store
+     */
+    private static ScoreStore openScoreStore(GameConfig config) {
+        try {
+            ScoreStore store = new ScoreStore(config.SCORE_STORE);
+            if (store.isCreated()) {
+                ScoreStore.importCsv(config.SCORES_FILE, store);
+            }
+            return store;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(-1);
+        }
+        return null;
+    }
+
+
     /** Main method through which program is called
      * NOTE: THIS METHOD WAS WRITTEN AND PROVIDED BY THE SWEN20003 TEACHING TEAM
      * @author SWEN20003 Teaching Team
-     * @param args Command line arguments
+     * @param args Command line arguments (optionally, the seed used for every game)
      */
     public static void main(String[] args) {
         Properties game_props = IOUtils.readPropertiesFile("res/app.properties");
+        if (args.length > 0) {
+            // seed on the command line replaces the one in the game properties
+            game_props.setProperty("gamePlay.seed", args[0]);
+        }
         Properties message_props = IOUtils.readPropertiesFile("res/message_en.properties");
-        ShadowTaxi game = new ShadowTaxi(game_props, message_props);
+        // parse and check all game values before opening the window
+        ShadowTaxi game = new ShadowTaxi(new GameConfig(game_props), message_props);
         game.run();
+        // window may also be closed without pressing escape
+        game.shutdown();
     }
 }
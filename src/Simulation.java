@@ -0,0 +1,140 @@
+import bagel.Keys;
+
+import java.util.Properties;
+
+/** Class which plays shifts of the game without a window, allowing gameplay to be
+ * simulated quickly (e.g. for balance tuning and regression checks)
+ */
+public class Simulation {
+    private final GameConfig CONFIG;
+    private final Properties MSG_PROPS;
+
+    // scripted input, drive forward then wait for passengers to get in/out
+    private static final KeyState DRIVE = KeyState.of(Keys.UP);
+    private static final int DRIVE_FRAMES = 120;
+    private static final int WAIT_FRAMES = 60;
+
+    /** Controller which plays the scripted input
+     */
+    public static final Controller SCRIPT = game -> scriptedInput(game.getFramesPlayed());
+
+    private static final int DEFAULT_SHIFTS = 100;
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final long SEED;
+
+    private long totalFrames = 0;
+    private int shiftsRun = 0;
+    private int wins = 0;
+    private int peakCars = 0;
+    private int peakFireballs = 0;
+    private long retired = 0;
+    private long reused = 0;
+    private long created = 0;
+    private long stateHash = 0;
+
+    /** Constructs a Simulation object
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @param seed Seed of the first shift, each later shift uses the next seed
+     */
+    public Simulation(GameConfig config, Properties msgProps, long seed) {
+        CONFIG = config;
+        MSG_PROPS = msgProps;
+        SEED = seed;
+    }
+
+
+    /** Plays a single shift until it has been won or lost
+     * @return The game that was played, in its final state with its graphics released
+     */
+    public Game runShift() {
+        Game game = new Game(CONFIG, MSG_PROPS, true, SEED + shiftsRun++);
+
+        int frame = 0;
+        int status = Game.PLAY;
+        while (status == Game.PLAY) {
+            status = game.playGame(scriptedInput(frame++));
+        }
+
+        totalFrames += frame;
+        if (status == Game.WIN) {
+            wins++;
+        }
+
+        EntityReaper reaper = game.getReaper();
+        peakCars = Math.max(peakCars, reaper.getPeakCars());
+        peakFireballs = Math.max(peakFireballs, reaper.getPeakFireballs());
+        retired += reaper.getRetiredCars() + reaper.getRetiredFireballs();
+
+        CarGenerator carGen = game.getCarGenerator();
+        reused += carGen.getCarPool().getHits() + carGen.getEnemyPool().getHits()
+                + carGen.getFireballPool().getHits();
+        created += carGen.getCarPool().getMisses() + carGen.getEnemyPool().getMisses()
+                + carGen.getFireballPool().getMisses();
+
+        // runs with the same seed must finish every shift in the same state
+        Taxi taxi = game.getDriver().getTaxi();
+        stateHash = stateHash * 31 + frame;
+        stateHash = stateHash * 31 + Double.hashCode(game.getTotalEarnings());
+        double taxiScreenY = game.getCamera().toScreenY(taxi.getY());
+        stateHash = stateHash * 31 + Double.hashCode(taxi.getX()) + Double.hashCode(taxiScreenY);
+        stateHash = stateHash * 31 + game.getCars().size();
+
+        game.release();
+        return game;
+    }
+
+
+    /** Gets the scripted keys held down in a given frame
+     * @param frame The number of frames since the shift started
+     * @return The keys held down in that frame
+     */
+    public static KeyState scriptedInput(int frame) {
+        if (frame % (DRIVE_FRAMES + WAIT_FRAMES) < DRIVE_FRAMES) {
+            return DRIVE;
+        }
+        return KeyState.NONE;
+    }
+
+    public long getTotalFrames() { return totalFrames; }
+    public int getWins() { return wins; }
+    public long getStateHash() { return stateHash; }
+
+
+    /** Runs a number of headless shifts and reports how quickly they were simulated
+     * @param args Optionally, the number of shifts to run and the seed of the first shift
+     *             (otherwise the seed in the game properties, or a new seed if there is none)
+     */
+    public static void main(String[] args) {
+        int shifts = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SHIFTS;
+
+        Properties gameProps = IOUtils.readPropertiesFile("res/app.properties");
+        Properties msgProps = IOUtils.readPropertiesFile("res/message_en.properties");
+        GameConfig config = new GameConfig(gameProps);
+
+        long seed;
+        if (args.length > 1) {
+            seed = Long.parseLong(args[1]);
+        }
+        else {
+            seed = config.SEED != null ? config.SEED : GameRandom.newSeed();
+        }
+        Simulation sim = new Simulation(config, msgProps, seed);
+
+        long start = System.nanoTime();
+        double earnings = 0;
+        for (int i = 0; i < shifts; i++) {
+            earnings += sim.runShift().getTotalEarnings();
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+
+        System.out.printf("seed %d, state hash %016x%n", seed, sim.getStateHash());
+        System.out.printf("%d shifts (%d frames) in %.2fs: %.1f shifts/s, %.0f frames/s%n",
+                shifts, sim.getTotalFrames(), seconds, shifts / seconds, sim.getTotalFrames() / seconds);
+        System.out.printf("won %d/%d, mean earnings %.2f%n", sim.getWins(), shifts, earnings / shifts);
+        System.out.printf("peak live cars %d, peak live fireballs %d, %d entities retired%n",
+                sim.peakCars, sim.peakFireballs, sim.retired);
+        System.out.printf("%d pooled entities reused, %d created%n", sim.reused, sim.created);
+    }
+}
@@ -0,0 +1,176 @@
+import java.util.ArrayList;
+
+/** Class which buckets entities that can take damage into a uniform grid by position,
+ * so that collisions only need to be checked between entities in neighbouring cells
+ */
+public class SpatialGrid {
+    private final double CELL_SIZE;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double MAX_LOAD = 0.5;
+    private static final int CELL_BITS = 32;
+
+    // open addressing hash table of cells, cells from previous frames are reused
+    private long[] keys;
+    private ArrayList<Damagable>[] cells;
+    private int[] stamps;
+    private int stamp = 1;
+    private int size = 0;
+
+    private double maxRadius = 0;
+    private final ArrayList<Damagable> nearby = new ArrayList<Damagable>();
+
+    /** Constructs a SpatialGrid object
+     * @param cellSize The width and height of each cell in the grid
+     */
+    public SpatialGrid(double cellSize) {
+        CELL_SIZE = cellSize;
+        allocate(INITIAL_CAPACITY);
+    }
+
+
+    /** Removes all entities from the grid (must be called before entities are re-added each frame)
+     */
+    public void clear() {
+        stamp++;
+        size = 0;
+        maxRadius = 0;
+    }
+
+
+    /** Adds an entity to the cell containing its position
+     * @param entity The entity to be added
+     */
+    public void add(Damagable entity) {
+        if (size + 1 > keys.length * MAX_LOAD) {
+            grow();
+        }
+
+        long key = key(cell(entity.getX()), cell(entity.getY()));
+        cells[slot(key)].add(entity);
+        maxRadius = Math.max(maxRadius, entity.getRadius());
+    }
+
+
+    /** Finds all entities in cells which an entity at the given position could collide with
+     * @param x X-coord of the entity
+     * @param y Y-coord of the entity
+     * @param radius Collision radius of the entity
+     * @return The nearby entities (this list is reused by the next call)
+     */
+    public ArrayList<Damagable> near(double x, double y, double radius) {
+        nearby.clear();
+        double range = radius + maxRadius;
+
+        int maxX = cell(x + range);
+        int maxY = cell(y + range);
+        for (int cx = cell(x - range); cx <= maxX; cx++) {
+            for (int cy = cell(y - range); cy <= maxY; cy++) {
+                int i = find(key(cx, cy));
+                if (i < 0) {
+                    continue;
+                }
+                for (int j = 0; j < cells[i].size(); j++) {
+                    nearby.add(cells[i].get(j));
+                }
+            }
+        }
+        return nearby;
+    }
+
+
+    /** Finds the cell index containing a coordinate
+     * @param coord The x or y coordinate
+     * @return Index of the cell along that axis
+     */
+    private int cell(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+
+    /** Combines the indices of a cell into a single key
+     */
+    private static long key(int cx, int cy) {
+        return ((long) cx << CELL_BITS) | (cy & 0xFFFFFFFFL);
+    }
+
+
+    /** Finds the table index of a cell key, claiming an empty slot if it is not yet in use
+     * @param key The key of the cell
+     * @return Index of the cell in the table
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (stamps[i] == stamp && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+
+        if (stamps[i] != stamp) {
+            // cell not used yet this frame
+            stamps[i] = stamp;
+            keys[i] = key;
+            cells[i].clear();
+            size++;
+        }
+        return i;
+    }
+
+
+    /** Finds the table index of a cell key without claiming a slot
+     * @param key The key of the cell
+     * @return Index of the cell in the table, or -1 if it holds no entities
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (stamps[i] == stamp) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+
+    /** Doubles the size of the table, keeping the cells used this frame
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        ArrayList<Damagable>[] oldCells = cells;
+        int[] oldStamps = stamps;
+        int oldStamp = stamp;
+
+        allocate(oldKeys.length * 2);
+        stamp = 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == oldStamp) {
+                cells[slot(oldKeys[i])].addAll(oldCells[i]);
+            }
+        }
+    }
+
+
+    /** Creates an empty table
+     * @param capacity The number of slots in the table (must be a power of 2)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        stamps = new int[capacity];
+        cells = new ArrayList[capacity];
+        for (int i = 0; i < capacity; i++) {
+            cells[i] = new ArrayList<Damagable>();
+        }
+    }
+
+
+    /** Spreads the bits of a cell key so neighbouring cells land in different slots
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> CELL_BITS));
+    }
+}
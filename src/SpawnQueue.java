@@ -0,0 +1,142 @@
+import java.util.Arrays;
+
+/** Class which holds the level objects (passengers, coins and invincible powers) that have not
+ * yet come into view, sorted so the next to be reached by the player is first
+ * Objects are stored as plain values rather than entities, and are only turned into entities
+ * once the player gets close enough to them
+ */
+public class SpawnQueue {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private LevelReader.Type[] types = new LevelReader.Type[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private int[] priorities = new int[INITIAL_CAPACITY];
+    private int[] endXs = new int[INITIAL_CAPACITY];
+    private int[] distYs = new int[INITIAL_CAPACITY];
+    private boolean[] umbrellas = new boolean[INITIAL_CAPACITY];
+
+    // objects in the order they are reached (descending y)
+    private int[] order = new int[0];
+    private int size = 0;
+    private int next = 0;
+    private int current = -1;
+
+    /** Adds a level object to the queue, must be called before the queue is sorted
+     * @param type The type of object
+     * @param x X-coord of the object at the start of the game
+     * @param y Y-coord of the object at the start of the game
+     * @param priority Priority of a passenger's trip
+     * @param endX X-coord of a passenger's trip end flag
+     * @param distY Distance in the y-direction between the start and end of a passenger's trip
+     * @param umbrella Flag indicating a passenger has an umbrella
+     */
+    public void add(LevelReader.Type type, double x, double y, int priority, int endX, int distY,
+                    boolean umbrella) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+            endXs = Arrays.copyOf(endXs, capacity);
+            distYs = Arrays.copyOf(distYs, capacity);
+            umbrellas = Arrays.copyOf(umbrellas, capacity);
+        }
+
+        types[size] = type;
+        xs[size] = x;
+        ys[size] = y;
+        priorities[size] = priority;
+        endXs[size] = endX;
+        distYs[size] = distY;
+        umbrellas[size] = umbrella;
+        size++;
+    }
+
+
+    /** Sorts all added objects into the order they will be reached, keeping objects with
+     * the same y-coord in the order they were added
+     */
+    public void sort() {
+        order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[size], 0, size);
+        next = 0;
+    }
+
+
+    /** Stable merge sort of object indices by descending y-coord
+     */
+    private void mergeSort(int[] a, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(a, buffer, from, mid);
+        mergeSort(a, buffer, mid, to);
+        if (ys[a[mid - 1]] >= ys[a[mid]]) {
+            // halves already in order
+            return;
+        }
+
+        System.arraycopy(a, from, buffer, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j == to || (i < mid && ys[buffer[i]] >= ys[buffer[j]])) {
+                a[k] = buffer[i++];
+            }
+            else {
+                a[k] = buffer[j++];
+            }
+        }
+    }
+
+
+    /** Creates a queue of the same objects with its own position, which shares this queue's
+     * (sorted) objects rather than copying them, so nothing may be added to either queue
+     * @return A queue which has not yet reached any objects
+     */
+    public SpawnQueue copy() {
+        SpawnQueue queue = new SpawnQueue();
+        queue.types = types;
+        queue.xs = xs;
+        queue.ys = ys;
+        queue.priorities = priorities;
+        queue.endXs = endXs;
+        queue.distYs = distYs;
+        queue.umbrellas = umbrellas;
+        queue.order = order;
+        queue.size = size;
+        return queue;
+    }
+
+
+    /** Moves to the next object if it has come within reach
+     * @param minY Smallest starting y-coord of an object which is within reach
+     * @return True if there was an object in reach, which can then be read with the getters
+     */
+    public boolean next(double minY) {
+        if (next == order.length || ys[order[next]] < minY) {
+            return false;
+        }
+        current = order[next++];
+        return true;
+    }
+
+
+    /** Gets the number of objects which have not yet been reached
+     */
+    public int getRemaining() { return order.length - next; }
+
+    public LevelReader.Type getType() { return types[current]; }
+    public double getX() { return xs[current]; }
+    public double getY() { return ys[current]; }
+    public int getPriority() { return priorities[current]; }
+    public int getEndX() { return endXs[current]; }
+    public int getDistY() { return distYs[current]; }
+    public boolean hasUmbrella() { return umbrellas[current]; }
+}
@@ -0,0 +1,75 @@
+import bagel.DrawOptions;
+import bagel.Image;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Class representing a shared handle to a graphic, which is only fetched from the
+ * AssetRegistry the first time it is drawn so that entities can be created without
+ * a bagel window (e.g. in a headless simulation)
+ * Users of the handle are counted here, and the registry is only told when the first user
+ * acquires or the last user releases the graphic, so acquiring a handle takes no lock
+ */
+public class Sprite {
+    private final String PATH;
+    private final AtomicInteger USERS = new AtomicInteger();
+    private Image image = null;
+
+    /** Constructs a Sprite object (the graphic must be acquired before it is used)
+     * @param path The path of the graphic's image file
+     */
+    public Sprite(String path) {
+        PATH = path;
+    }
+
+
+    /** Starts using the graphic
+     * @return This sprite
+     */
+    public Sprite acquire() {
+        if (USERS.getAndIncrement() == 0) {
+            AssetRegistry.getInstance().acquire(PATH);
+        }
+        return this;
+    }
+
+
+    /** Stops using the graphic
+     */
+    public void release() {
+        if (USERS.decrementAndGet() == 0) {
+            AssetRegistry.getInstance().release(PATH);
+        }
+    }
+
+
+    /** Draws the graphic centred at the given position
+     * @param x X-coord of the centre of the graphic
+     * @param y Y-coord of the centre of the graphic
+     */
+    public void draw(double x, double y) {
+        getImage().draw(x, y);
+    }
+
+
+    /** Draws the graphic centred at the given position
+     * @param x X-coord of the centre of the graphic
+     * @param y Y-coord of the centre of the graphic
+     * @param options Options applied to the graphic
+     */
+    public void draw(double x, double y, DrawOptions options) {
+        getImage().draw(x, y, options);
+    }
+
+
+    /** Gets the shared graphic, fetching it from the registry if needed
+     */
+    private Image getImage() {
+        if (image == null) {
+            image = AssetRegistry.getInstance().getImage(PATH);
+        }
+        return image;
+    }
+
+    public String getPath() { return PATH; }
+    public int getUsers() { return USERS.get(); }
+}
@@ -1,7 +1,3 @@
-import bagel.Font;
-import bagel.Image;
-import bagel.util.Point;
-
 import java.util.Properties;
 import java.util.Random;
 
@@ -10,8 +6,7 @@ import java.util.Random;
  * through driver
  */
 public class Taxi extends Car {
-    private final Image DEAD_CAR;
-    private final static Random RAND = new Random();
+    private final Sprite DEAD_CAR;
 
     /** Distance that taxi can move horizontally per frame
      */
@@ -20,91 +15,108 @@ public class Taxi extends Car {
     private final String HEALTH;
     private final int HEALTH_X;
     private final int HEALTH_Y;
-    private final Font FONT;
+    private final Typeface FONT;
+    private final HudText HEALTH_TEXT;
 
 
     private final int[] LANES;
     private final int Y_POS_1;
     private final int Y_POS_2;
 
+    // lanes which a new taxi may be generated in
+    private static final int[] SPAWN_LANES = new int[] {0, 2};
+
 
     private boolean vulnerable;
     private Driver driver;
 
     /** Constructs Taxi object
-     * @param gameProps An object containing all game values and graphics
+     * @param config An object containing all game values and graphics
      * @param msgProps An object containing all text used in the game
-     * @param position Initial position of taxi
+     * @param x Initial x-coord of taxi
+     * @param y Initial y-coord of taxi
      * @param driver Driver controlling taxi's movement
      */
-    public Taxi(Properties gameProps, Properties msgProps, Point position, Driver driver) {
-        super(gameProps, new Image(gameProps.getProperty("gameObjects.taxi.image")),
-                Integer.parseInt(gameProps.getProperty("gameObjects.taxi.speedY")),
-            Double.parseDouble(gameProps.getProperty("gameObjects.taxi.radius")),
-                Double.parseDouble(gameProps.getProperty("gameObjects.taxi.damage")),
-                position,
-                Double.parseDouble(gameProps.getProperty("gameObjects.taxi.health")));
+    public Taxi(GameConfig config, Properties msgProps, double x, double y, Driver driver) {
+        super(config, null, config.ASSETS.TAXI, config.TAXI_SPEED_Y, config.TAXI_RADIUS,
+                config.TAXI_DAMAGE, x, y, config.TAXI_HEALTH);
 
-        DEAD_CAR = new Image(gameProps.getProperty("gameObjects.taxi.damagedImage"));
+        DEAD_CAR = config.ASSETS.TAXI_DAMAGED.acquire();
 
-        SPEED_X = Integer.parseInt(gameProps.getProperty("gameObjects.taxi.speedX"));
+        SPEED_X = config.TAXI_SPEED_X;
 
         HEALTH = msgProps.getProperty("gamePlay.taxiHealth");
-        HEALTH_X = Integer.parseInt(gameProps.getProperty("gamePlay.taxiHealth.x"));
-        HEALTH_Y = Integer.parseInt(gameProps.getProperty("gamePlay.taxiHealth.y"));
-        FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gamePlay.info.fontSize")));
-
-        LANES = new int[] {Integer.parseInt(gameProps.getProperty("roadLaneCenter1")),
-                Integer.parseInt(gameProps.getProperty("roadLaneCenter3"))};
-        Y_POS_1 = Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMinY"));
-        Y_POS_2 = Integer.parseInt(gameProps.getProperty("gameObjects.taxi.nextSpawnMaxY"));
+        HEALTH_X = config.TAXI_HEALTH_X;
+        HEALTH_Y = config.TAXI_HEALTH_Y;
+        FONT = config.ASSETS.INFO_FONT.acquire();
+        HEALTH_TEXT = new HudText(FONT, HEALTH, 2);
+
+        LANES = new int[SPAWN_LANES.length];
+        for (int i = 0; i < SPAWN_LANES.length; i++) {
+            LANES[i] = config.getLane(SPAWN_LANES[i]);
+        }
+        Y_POS_1 = config.TAXI_SPAWN_MIN_Y;
+        Y_POS_2 = config.TAXI_SPAWN_MAX_Y;
 
         this.driver = driver;
+    }
 
-        if (position == null) {
-            // need to generate a new random positon
-            int x = LANES[RAND.nextInt(LANES.length)];
-            int y = Y_POS_1 + RAND.nextInt(Y_POS_2 - Y_POS_1);
-            setPosition(new Point(x, y));
-        }
+
+    /** Constructs Taxi object in a random position on screen
+     * @param config An object containing all game values and graphics
+     * @param msgProps An object containing all text used in the game
+     * @param random Random stream used to choose the position
+     * @param camera The view in which the taxi is placed
+     * @param driver Driver controlling taxi's movement
+     */
+    public Taxi(GameConfig config, Properties msgProps, Random random, Camera camera, Driver driver) {
+        this(config, msgProps, 0, 0, driver);
+
+        // need to generate a new random positon
+        int x = LANES[random.nextInt(LANES.length)];
+        int y = Y_POS_1 + random.nextInt(Y_POS_2 - Y_POS_1);
+        setPosition(x, camera.toWorldY(y));
     }
 
 
     /** Displays taxi based on its current status
+     * @param camera The view through which the taxi is seen
      */
     @Override
-    public void display() {
+    public void display(Camera camera) {
         if (isDead()) {
-            DEAD_CAR.draw(getPosition().x, getPosition().y);
-            displayEffect(FIRE);
+            DEAD_CAR.draw(getDrawX(camera), getDrawY(camera));
+            displayEffect(camera);
             return;
         }
 
-        super.display();
+        super.display(camera);
         // show taxi health
-        FONT.drawString(String.format(HEALTH + "%.2f", getHealth()), HEALTH_X, HEALTH_Y);
+        HEALTH_TEXT.draw(getHealth(), HEALTH_X, HEALTH_Y);
     }
 
 
-    /** Moves the taxi in the Y direction
-     * @param increase The amount by which the player has moved forward
+    /** Updates taxi based on its current status
      */
     @Override
-    public void moveY(int increase) {
-        if(getCollisionMovement() > 0) {
-            // taxi moving away after collision
-            setCollisionMovement(getCollisionMovement() - 1);
-            setPosition(new Point(getPosition().x, getPosition().y + increase + getDirection()));
-        }
-        else {
-            // taxi stationary with respect to background
-            setPosition(new Point(getPosition().x, getPosition().y + increase));
+    public void update() {
+        if (isDead()) {
+            updateEffect();
+            return;
         }
 
-        if (getPosOfEffect() != null) {
-            // make effect remain at site of collision
-            setPosOfEffect(new Point(getPosOfEffect().x, getPosOfEffect().y + increase));
+        super.update();
+    }
+
+
+    /** Moves the taxi in the Y direction while it is not being driven
+     */
+    @Override
+    public void move() {
+        if(getCollisionMovement() > 0) {
+            // taxi moving away after collision, otherwise stationary with respect to background
+            setCollisionMovement(getCollisionMovement() - 1);
+            setY(getY() + getDirection());
         }
     }
 
@@ -118,6 +130,25 @@ public class Taxi extends Car {
     }
 
 
+    /** Releases the graphics used by the taxi once it has been removed from the game
+     */
+    @Override
+    public void retire() {
+        super.retire();
+        DEAD_CAR.release();
+        FONT.release();
+    }
+
+
+    /** Damaged taxis stay on the road until they are off screen
+     * @return Flag representing if taxi is finished (always false)
+     */
+    @Override
+    public boolean isFinished() {
+        return false;
+    }
+
+
     /** Checks if Taxi may be collided with
      * @return Flag representing vulnerability status of Taxi
      */
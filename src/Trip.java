@@ -1,18 +1,19 @@
-import bagel.Font;
-import bagel.util.Point;
-
 import java.util.Properties;
 
 /** Class containing details of a trip corresponding to a
  * given passenger
  */
 public class Trip {
-    private final Properties GAME_PROPS;
     private final Properties MSG_PROPS;
 
     private final int TRIP_INFO_X;
     private final int TRIP_INFO_Y;
-    private final Font FONT;
+    private final Typeface FONT;
+    private final String ONGOING_TITLE;
+    private final String COMPLETED_TITLE;
+    private final HudText EARNINGS_TEXT;
+    private final HudText PRIORITY_TEXT;
+    private final HudText PENALTY_TEXT;
 
     private final int PRIORITY_1;
     private final int PRIORITY_2;
@@ -29,7 +30,6 @@ public class Trip {
 
     private final int DIST_Y;
     private final boolean HAS_UMBRELLA;
-    private Point endPosition;
     private EndFlag end;
 
     private double earnings;
@@ -40,52 +40,49 @@ public class Trip {
     private int originalPriority;
     private boolean complete = false;
 
+    // positions in the trip registry's lists, or -1 if not tracked
+    private int activeIndex = -1;
+    private int exposedIndex = -1;
+
 
     /** Constructs a Trip object
-     * @param gameProps
-     * @param messageProps
-     * @param start Position at which the trip starts
+     * @param config An object containing all game values and graphics
+     * @param messageProps An object containing all text used in the game
+     * @param startY Y-coord at which the trip starts
      * @param priority Value determining additional payment for trip
      * @param endX X-coord of trip end flag
      * @param distY Distance in the y-direction between start and end
      * @param hasUmbrella Value determining if priority will be effected by rain
      */
-    public Trip(Properties gameProps, Properties messageProps, Point start, int priority, int endX,
+    public Trip(GameConfig config, Properties messageProps, double startY, int priority, int endX,
                 int distY, boolean hasUmbrella) {
-        GAME_PROPS = gameProps;
         MSG_PROPS = messageProps;
 
-        TRIP_INFO_X = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.tripInfo.x"));
-        TRIP_INFO_Y = Integer.parseInt(GAME_PROPS.getProperty("gamePlay.tripInfo.y"));
-        FONT = new Font(gameProps.getProperty("font"),
-                Integer.parseInt(gameProps.getProperty("gamePlay.info.fontSize")));
+        TRIP_INFO_X = config.TRIP_INFO_X;
+        TRIP_INFO_Y = config.TRIP_INFO_Y;
+        FONT = config.ASSETS.INFO_FONT.acquire();
+        ONGOING_TITLE = MSG_PROPS.getProperty("gamePlay.onGoingTrip.title");
+        COMPLETED_TITLE = MSG_PROPS.getProperty("gamePlay.completedTrip.title");
+        EARNINGS_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.trip.expectedEarning"), 1);
+        PRIORITY_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.trip.priority"), 0);
+        PENALTY_TEXT = new HudText(FONT, MSG_PROPS.getProperty("gamePlay.trip.penalty"), 2);
 
-        PRIORITY_1 = Integer.parseInt(GAME_PROPS.getProperty("trip.rate.priority1"));
-        PRIORITY_2 = Integer.parseInt(GAME_PROPS.getProperty("trip.rate.priority2"));
-        PRIORITY_3 = Integer.parseInt(GAME_PROPS.getProperty("trip.rate.priority3"));
+        PRIORITY_1 = config.PRIORITY_RATE_1;
+        PRIORITY_2 = config.PRIORITY_RATE_2;
+        PRIORITY_3 = config.PRIORITY_RATE_3;
 
-        RATE_PER_Y = Double.parseDouble(GAME_PROPS.getProperty("trip.rate.perY"));
-        PENALTY_PER_Y = Double.parseDouble(GAME_PROPS.getProperty("trip.penalty.perY"));
+        RATE_PER_Y = config.RATE_PER_Y;
+        PENALTY_PER_Y = config.PENALTY_PER_Y;
 
         HAS_UMBRELLA = hasUmbrella;
         this.priority = priority;
         originalPriority = priority;
         DIST_Y = distY;
-        endPosition = new Point(endX, start.y - distY);
-        end = new EndFlag(GAME_PROPS, endPosition);
+        end = new EndFlag(config, endX, startY - distY);
         updateEarnings();
     }
 
 
-    /** Updates end position of trip
-     * @param increase Amount by which end position changes
-     */
-    public void moveY(int increase) {
-        endPosition = new Point(endPosition.x, endPosition.y + increase);
-        end.moveY(increase);
-    }
-
-
     /** Recalculates expected earnings from trip based on current priority
      */
     public void updateEarnings() {
@@ -106,24 +103,17 @@ public class Trip {
     /** Displays information about last/current trip
      */
     public void showTripDetails() {
-        FONT.drawString(MSG_PROPS.getProperty("gamePlay.trip.expectedEarning") + String.format("%.1f", earnings),
-                TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_1);
-
-        FONT.drawString(String.format(MSG_PROPS.getProperty("gamePlay.trip.priority") + priority),
-                TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_2);
+        EARNINGS_TEXT.draw(earnings, TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_1);
+        PRIORITY_TEXT.draw(priority, TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_2);
 
         if (!complete) {
             // show current trip info
-            FONT.drawString(String.format(MSG_PROPS.getProperty("gamePlay.onGoingTrip.title")),
-                    TRIP_INFO_X, TRIP_INFO_Y);
+            FONT.drawString(ONGOING_TITLE, TRIP_INFO_X, TRIP_INFO_Y);
         }
         else {
             // show last trip info
-            FONT.drawString(String.format(MSG_PROPS.getProperty("gamePlay.completedTrip.title")),
-                    TRIP_INFO_X, TRIP_INFO_Y);
-
-            FONT.drawString(MSG_PROPS.getProperty("gamePlay.trip.penalty") + String.format("%.2f", penalty),
-                    TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_3);
+            FONT.drawString(COMPLETED_TITLE, TRIP_INFO_X, TRIP_INFO_Y);
+            PENALTY_TEXT.draw(penalty, TRIP_INFO_X, TRIP_INFO_Y + TRIP_INFO_OFFSET_3);
         }
     }
 
@@ -165,17 +155,18 @@ public class Trip {
 
 
     /** Calculates penalty based on distance from drop off
-     * @param taxiPos Position of taxi when passenger was dropped off
+     * @param taxiX X-coord of taxi when passenger was dropped off
+     * @param taxiY Y-coord of taxi when passenger was dropped off
      */
-    public void updatePenalty(Point taxiPos) {
+    public void updatePenalty(double taxiX, double taxiY) {
         complete = true;
-        if (taxiPos.distanceTo(end.getPosition()) <= end.RADIUS) {
+        if (end.distanceTo(taxiX, taxiY) <= end.RADIUS) {
             // no penalty, within radius
             penalty = 0;
         }
-        else if (taxiPos.y <= end.getPosition().y) {
+        else if (taxiY <= end.getY()) {
             // calculate penalty
-            penalty = (end.getPosition().y - taxiPos.y) * PENALTY_PER_Y;
+            penalty = (end.getY() - taxiY) * PENALTY_PER_Y;
             if (penalty > earnings) {
                 // can't have negative earnings
                 penalty = earnings;
@@ -183,8 +174,22 @@ public class Trip {
         }
     }
 
+    /** Releases the font and end flag used by the trip once its passenger has been removed
+     * from the game
+     */
+    public void retire() {
+        FONT.release();
+        end.retire();
+    }
+
     public double getEarnings() { return earnings; }
     public int getPriority() { return priority; }
     public EndFlag getEnd() { return end; }
     public double getPenalty() { return penalty; }
+    public boolean hasUmbrella() { return HAS_UMBRELLA; }
+    public int getActiveIndex() { return activeIndex; }
+    public int getExposedIndex() { return exposedIndex; }
+
+    public void setActiveIndex(int activeIndex) { this.activeIndex = activeIndex; }
+    public void setExposedIndex(int exposedIndex) { this.exposedIndex = exposedIndex; }
 }
@@ -0,0 +1,78 @@
+import java.util.ArrayList;
+
+/** Class which keeps track of the trips whose priority may still change, so that a change in
+ * weather or an active coin only updates those trips
+ * Trips that are complete are not tracked, and only trips without an umbrella are affected
+ * by the weather
+ */
+public class TripRegistry {
+    private final ArrayList<Trip> ACTIVE = new ArrayList<Trip>();
+    private final ArrayList<Trip> EXPOSED = new ArrayList<Trip>();
+
+    /** Starts tracking a trip
+     * @param trip A trip which is not complete
+     */
+    public void add(Trip trip) {
+        if (trip.getActiveIndex() >= 0) {
+            return;
+        }
+
+        trip.setActiveIndex(ACTIVE.size());
+        ACTIVE.add(trip);
+        if (!trip.hasUmbrella()) {
+            trip.setExposedIndex(EXPOSED.size());
+            EXPOSED.add(trip);
+        }
+    }
+
+
+    /** Stops tracking a trip once it is complete or removed from the game
+     * @param trip The trip to stop tracking
+     */
+    public void remove(Trip trip) {
+        int i = trip.getActiveIndex();
+        if (i < 0) {
+            return;
+        }
+
+        // move the last trip into the gap
+        Trip last = ACTIVE.remove(ACTIVE.size() - 1);
+        if (last != trip) {
+            ACTIVE.set(i, last);
+            last.setActiveIndex(i);
+        }
+        trip.setActiveIndex(-1);
+
+        i = trip.getExposedIndex();
+        if (i >= 0) {
+            last = EXPOSED.remove(EXPOSED.size() - 1);
+            if (last != trip) {
+                EXPOSED.set(i, last);
+                last.setExposedIndex(i);
+            }
+            trip.setExposedIndex(-1);
+        }
+    }
+
+
+    /** Updates the priority of trips affected by a change in weather
+     * @param raining Flag indicating it has started (rather than stopped) raining
+     */
+    public void applyWeather(boolean raining) {
+        for (int i = 0; i < EXPOSED.size(); i++) {
+            EXPOSED.get(i).updatePriority(true, raining);
+        }
+    }
+
+
+    /** Updates the priority of all tracked trips when a coin is collected or runs out
+     * @param active Flag indicating a coin has been collected (rather than run out)
+     */
+    public void applyCoin(boolean active) {
+        for (int i = 0; i < ACTIVE.size(); i++) {
+            ACTIVE.get(i).updatePriority(false, active);
+        }
+    }
+
+    public int size() { return ACTIVE.size(); }
+}
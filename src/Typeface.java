@@ -0,0 +1,92 @@
+import bagel.DrawOptions;
+import bagel.Font;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Class representing a shared handle to a font, which is only fetched from the
+ * AssetRegistry the first time text is drawn so that entities can be created without
+ * a bagel window (e.g. in a headless simulation)
+ * Users of the handle are counted here, and the registry is only told when the first user
+ * acquires or the last user releases the font, so acquiring a handle takes no lock
+ */
+public class Typeface {
+    private final String PATH;
+    private final int SIZE;
+    private final String KEY;
+    private final AtomicInteger USERS = new AtomicInteger();
+    private Font font = null;
+
+    /** Constructs a Typeface object (the font must be acquired before it is used)
+     * @param path The path of the font file
+     * @param size The font size
+     */
+    public Typeface(String path, int size) {
+        PATH = path;
+        SIZE = size;
+        KEY = AssetRegistry.fontKey(path, size);
+    }
+
+
+    /** Starts using the font
+     * @return This typeface
+     */
+    public Typeface acquire() {
+        if (USERS.getAndIncrement() == 0) {
+            AssetRegistry.getInstance().acquire(KEY);
+        }
+        return this;
+    }
+
+
+    /** Draws text on screen
+     * @param text The text to be drawn
+     * @param x X-coord of the bottom left of the text
+     * @param y Y-coord of the bottom left of the text
+     */
+    public void drawString(String text, double x, double y) {
+        getFont().drawString(text, x, y);
+    }
+
+
+    /** Draws text on screen
+     * @param text The text to be drawn
+     * @param x X-coord of the bottom left of the text
+     * @param y Y-coord of the bottom left of the text
+     * @param options Options applied to the text
+     */
+    public void drawString(String text, double x, double y, DrawOptions options) {
+        getFont().drawString(text, x, y, options);
+    }
+
+
+    /** Finds the width of text in this font
+     * @param text The text to be measured
+     * @return Width of the text in pixels
+     */
+    public double getWidth(String text) {
+        return getFont().getWidth(text);
+    }
+
+
+    /** Stops using the font
+     */
+    public void release() {
+        if (USERS.decrementAndGet() == 0) {
+            AssetRegistry.getInstance().release(KEY);
+        }
+    }
+
+
+    /** Gets the shared font, fetching it from the registry if needed
+     */
+    private Font getFont() {
+        if (font == null) {
+            font = AssetRegistry.getInstance().getFont(PATH, SIZE);
+        }
+        return font;
+    }
+
+    public String getPath() { return PATH; }
+    public int getSize() { return SIZE; }
+    public int getUsers() { return USERS.get(); }
+}
@@ -0,0 +1,63 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** Class holding all weather events of a game in order of their start, so that the weather at
+ * any frame can be looked up directly (e.g. when seeking through a replay)
+ */
+public class WeatherTimeline {
+    private final Weather[] EVENTS;
+    private final int[] STARTS;
+
+    /** Constructs a WeatherTimeline object
+     * @param events The weather events of the game, in any order
+     */
+    public WeatherTimeline(List<Weather> events) {
+        ArrayList<Weather> sorted = new ArrayList<Weather>(events);
+        // sort by start in ascending order
+        Collections.sort(sorted);
+
+        EVENTS = sorted.toArray(new Weather[0]);
+        STARTS = new int[EVENTS.length];
+        for (int i = 0; i < EVENTS.length; i++) {
+            STARTS[i] = EVENTS[i].START;
+        }
+    }
+
+
+    /** Finds the weather event in effect at a frame, which is the last one to have started
+     * (the first event is in effect from the start of the game)
+     * @param frame The number of frames since the start of the game
+     * @return The weather event, or null if there are no events
+     */
+    public Weather getWeather(int frame) {
+        if (EVENTS.length == 0) {
+            return null;
+        }
+
+        int low = 1;
+        int high = EVENTS.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (STARTS[mid] <= frame) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return EVENTS[low - 1];
+    }
+
+
+    /** Checks if it is raining at a frame
+     * @param frame The number of frames since the start of the game
+     * @return Flag indicating the weather event in effect is rain
+     */
+    public boolean isRaining(int frame) {
+        Weather w = getWeather(frame);
+        return w != null && w.WEATHER.equals("RAINING");
+    }
+
+    public int size() { return EVENTS.length; }
+}